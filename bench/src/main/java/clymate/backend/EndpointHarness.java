@@ -0,0 +1,272 @@
+package clymate.backend;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONObject;
+
+/**
+ * Exercises {@link Endpoint} against a local stand-in for the weather APIs
+ * that answers from a script of statuses, delays and bodies, so 429s, 5xx
+ * responses and slow answers can be injected. Checks the retry count, the
+ * rate limit, the breaker opening and closing again, and a hedge winning and
+ * cancelling the slow attempt. Real requests through
+ * {@code WeatherService.fetchAsync} check how its failures are classified.
+ * In this package for that access. Not a JMH benchmark; run it with
+ *
+ * <pre>
+ * java -cp bench/target/benchmarks.jar clymate.backend.EndpointHarness
+ * </pre>
+ *
+ * @author Malith Dissanayake
+ */
+public final class EndpointHarness {
+
+	/** One scripted answer. */
+	private record Step(int status, long delayMillis, String body) {
+		static Step ok() {
+			return new Step(200, 0, "ok");
+		}
+
+		static Step status(int status) {
+			return new Step(status, 0, "");
+		}
+	}
+
+	/** A path of the stand-in server that plays a script, then keeps answering 200. */
+	private static final class Script {
+		final String path;
+		final ConcurrentLinkedQueue<Step> steps = new ConcurrentLinkedQueue<>();
+		final AtomicInteger hits = new AtomicInteger();
+
+		Script(String path) {
+			this.path = path;
+		}
+
+		Script then(Step... more) {
+			steps.addAll(List.of(more));
+			return this;
+		}
+	}
+
+	private final HttpServer server;
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private int paths;
+	private int passed;
+
+	private EndpointHarness() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.start();
+	}
+
+	public static void main(String[] args) throws Exception {
+		EndpointHarness h = new EndpointHarness();
+		try {
+			h.retriesTransientFailures();
+			h.doesNotRetryClientErrors();
+			h.throttlesToTheRate();
+			h.breakerOpensAndCloses();
+			h.hedgedRoundCountsOnce();
+			h.hedgeCancelsTheLoser();
+			h.classifiesServiceFailures();
+			System.out.println("All " + h.passed + " checks passed");
+		} finally {
+			h.server.stop(0);
+		}
+		System.exit(0);
+	}
+
+	// -- Scenarios --
+
+	private void retriesTransientFailures() throws Exception {
+		Script s = script().then(Step.status(503), Step.status(429), Step.ok());
+		Endpoint ep = new Endpoint("retry", 100, 10).retries(4, Duration.ofMillis(20), Duration.ofMillis(100));
+		String body = ep.call(Duration.ofSeconds(5), false, get(s, null)).get();
+		check("retry: answer after two transient failures", "ok".equals(body));
+		check("retry: three attempts, two of them retries", ep.getAttempts() == 3 && ep.getRetries() == 2);
+		check("retry: server saw each attempt", s.hits.get() == 3);
+	}
+
+	private void doesNotRetryClientErrors() throws Exception {
+		Script s = script().then(Step.status(404), new Step(200, 0, "{not json"));
+		Endpoint ep = new Endpoint("client-error", 100, 10).retries(4, Duration.ofMillis(20), Duration.ofMillis(100))
+				.breaker(1, Duration.ofSeconds(10));
+		Throwable e = failure(ep.call(Duration.ofSeconds(5), false, get(s, null)));
+		check("no retry: 404 fails at once", e instanceof Endpoint.StatusException se && se.getStatus() == 404);
+		e = failure(ep.call(Duration.ofSeconds(5), false, get(s, null)));
+		check("no retry: unparsable body fails at once", e instanceof Endpoint.BadResponseException);
+		check("no retry: one attempt per call", ep.getAttempts() == 2 && ep.getRetries() == 0);
+		check("no retry: breaker left closed", !ep.isOpen());
+	}
+
+	private void throttlesToTheRate() throws Exception {
+		Script s = script();
+		Endpoint ep = new Endpoint("rate", 10, 2);
+		long start = System.nanoTime();
+		List<CompletableFuture<String>> calls = new ArrayList<>();
+		for (int i = 0; i < 6; i++)
+			calls.add(ep.call(Duration.ofSeconds(5), false, get(s, null)));
+		CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get();
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		check("rate: burst of 2 goes straight through, 4 wait", ep.getThrottled() == 4);
+		check("rate: 4 permits at 10/s take about 400 ms (took " + millis + ")", millis >= 350);
+	}
+
+	private void breakerOpensAndCloses() throws Exception {
+		Script s = script().then(Step.status(500), Step.status(500), Step.status(500));
+		Endpoint ep = new Endpoint("breaker", 100, 10).breaker(3, Duration.ofMillis(300));
+		for (int i = 0; i < 3; i++)
+			failure(ep.call(Duration.ofSeconds(5), false, get(s, null)));
+		check("breaker: open after 3 failures", ep.isOpen());
+
+		Throwable e = failure(ep.call(Duration.ofSeconds(5), false, get(s, null)));
+		check("breaker: fails fast while open", e instanceof Endpoint.OpenCircuitException);
+		check("breaker: open circuit does not reach the server", s.hits.get() == 3 && ep.getRejected() == 1);
+
+		Thread.sleep(350);
+		String body = ep.call(Duration.ofSeconds(5), false, get(s, null)).get();
+		check("breaker: probe after the open period succeeds", "ok".equals(body));
+		check("breaker: closed again", "CLOSED".equals(ep.stateName()));
+	}
+
+	private void hedgedRoundCountsOnce() throws Exception {
+		Script s = script().then(new Step(500, 150, ""), new Step(500, 150, ""), Step.status(500));
+		Endpoint ep = new Endpoint("hedge-failures", 100, 10).hedgeAfter(Duration.ofMillis(50))
+				.breaker(2, Duration.ofSeconds(10));
+		failure(ep.call(Duration.ofSeconds(5), true, get(s, null)));
+		check("hedged failure: both attempts ran", ep.getAttempts() == 2 && ep.getHedges() == 1);
+		check("hedged failure: one failed round is one failure", !ep.isOpen());
+		failure(ep.call(Duration.ofSeconds(5), true, get(s, null)));
+		check("hedged failure: the second failed round opens it", ep.isOpen());
+	}
+
+	private void hedgeCancelsTheLoser() throws Exception {
+		Script s = script().then(new Step(200, 3000, "slow"), new Step(200, 0, "fast"));
+		Endpoint ep = new Endpoint("hedge", 100, 10).hedgeAfter(Duration.ofMillis(100));
+		List<CompletableFuture<String>> attempts = new ArrayList<>();
+		long start = System.nanoTime();
+		String body = ep.call(Duration.ofSeconds(5), true, get(s, attempts)).get();
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		check("hedge: the fast second attempt wins in " + millis + " ms", "fast".equals(body) && millis < 1000);
+		check("hedge: one hedge sent", ep.getHedges() == 1 && attempts.size() == 2);
+		// The loser is cancelled just after the winner's result is handed out
+		CompletableFuture<String> slow = attempts.get(0);
+		Throwable e = slow.handle((r, x) -> x).completeOnTimeout(null, 1, TimeUnit.SECONDS).get();
+		// HttpClient may get there first and fail it with a wrapped cancellation
+		check("hedge: slow attempt cancelled", e instanceof CancellationException
+				|| e instanceof CompletionException && e.getCause() instanceof CancellationException);
+	}
+
+	private void classifiesServiceFailures() throws Exception {
+		Script s = script().then(Step.status(503), new Step(200, 0, "{\"v\":7}"), Step.status(500),
+				Step.status(500), new Step(200, 0, "{not json"));
+		String url = "http://127.0.0.1:" + server.getAddress().getPort() + s.path;
+		WeatherService.BodyParser<Integer> parser = in -> new JSONObject(
+				new String(in.readAllBytes(), StandardCharsets.UTF_8)).getInt("v");
+		Endpoint ep = new Endpoint("service", 100, 10).retries(2, Duration.ofMillis(20), Duration.ofMillis(100));
+
+		int v = WeatherService.fetchAsync(ep, false, url, Duration.ofSeconds(5), parser).get();
+		check("service: 503 retried, then parsed", v == 7 && ep.getRetries() == 1);
+		Throwable e = failure(WeatherService.fetchAsync(ep, false, url, Duration.ofSeconds(5), parser));
+		check("service: repeated 500 surfaces as a status error",
+				e instanceof Endpoint.StatusException se && se.getStatus() == 500 && ep.getRetries() == 2);
+		e = failure(WeatherService.fetchAsync(ep, false, url, Duration.ofSeconds(5), parser));
+		check("service: unparsable body is a BadResponseException", e instanceof Endpoint.BadResponseException);
+		check("service: and is not retried", ep.getRetries() == 2 && s.hits.get() == 5);
+	}
+
+	// -- Plumbing --
+
+	private Script script() {
+		Script s = new Script("/s" + paths++);
+		server.createContext(s.path, x -> answer(x, s));
+		return s;
+	}
+
+	private static void answer(HttpExchange x, Script s) throws IOException {
+		s.hits.incrementAndGet();
+		Step step = s.steps.poll();
+		if (step == null)
+			step = Step.ok();
+		try {
+			Thread.sleep(step.delayMillis());
+			byte[] body = step.body().getBytes(StandardCharsets.UTF_8);
+			x.sendResponseHeaders(step.status(), body.length == 0 ? -1 : body.length);
+			try (OutputStream out = x.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (InterruptedException | IOException e) {
+			// Client gave up on this attempt
+		} finally {
+			x.close();
+		}
+	}
+
+	/**
+	 * An attempt the way {@code WeatherService} makes them: non-2xx statuses
+	 * become {@link Endpoint.StatusException}, a body that is not "ok", "fast"
+	 * or "slow" a {@link Endpoint.BadResponseException}.
+	 *
+	 * @param started Collects the attempts' futures, or null.
+	 */
+	private Endpoint.Attempt<String> get(Script s, List<CompletableFuture<String>> started) {
+		URI target = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + s.path);
+		return timeout -> {
+			CompletableFuture<HttpResponse<String>> send = client.sendAsync(
+					HttpRequest.newBuilder(target).timeout(timeout).build(), HttpResponse.BodyHandlers.ofString());
+			CompletableFuture<String> f = send.thenApply(r -> {
+				if (r.statusCode() / 100 != 2)
+					throw new CompletionException(
+							new Endpoint.StatusException(r.statusCode(), "HTTP " + r.statusCode()));
+				if (!r.body().matches("ok|fast|slow"))
+					throw new CompletionException(
+							new Endpoint.BadResponseException("Unparsable: " + r.body(), null));
+				return r.body();
+			});
+			f.whenComplete((r, e) -> {
+				if (f.isCancelled())
+					send.cancel(true);
+			});
+			if (started != null)
+				synchronized (started) {
+					started.add(f);
+				}
+			return f;
+		};
+	}
+
+	private static Throwable failure(CompletableFuture<?> f) throws InterruptedException {
+		try {
+			f.get();
+			throw new IllegalStateException("Expected the call to fail");
+		} catch (ExecutionException e) {
+			return e.getCause();
+		}
+	}
+
+	private void check(String what, boolean ok) {
+		if (!ok)
+			throw new IllegalStateException("FAILED: " + what);
+		passed++;
+		System.out.println("ok   " + what);
+	}
+}
\ No newline at end of file
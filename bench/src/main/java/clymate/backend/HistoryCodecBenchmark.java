@@ -0,0 +1,88 @@
+package clymate.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the binary search history log behind {@link HistoryStore}: encoding
+ * one record, as on every successful lookup, and replaying a long log into the
+ * in-memory index, as at startup. Lives in {@code clymate.backend} to reach
+ * the package-private codec.
+ *
+ * @author Malith Dissanayake
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryCodecBenchmark {
+
+	private static final WeatherService.CityResult[] CITIES = {
+			new WeatherService.CityResult("Berlin", "Land Berlin", "Germany", 52.52437, 13.41053),
+			new WeatherService.CityResult("São Paulo", "São Paulo", "Brazil", -23.5475, -46.63611),
+			new WeatherService.CityResult("Colombo", "Western", "Sri Lanka", 6.93194, 79.84778),
+			new WeatherService.CityResult("Reykjavík", "Capital Region", "Iceland", 64.13548, -21.89541),
+			new WeatherService.CityResult("St. Louis", "Missouri", "United States", 38.62727, -90.19789),
+			new WeatherService.CityResult("Zürich", "Zurich", "Switzerland", 47.36667, 8.55) };
+
+	/** Records in the replayed log. */
+	@Param({ "10000" })
+	public int records;
+
+	private HistoryStore.Entry[] entries;
+	private ByteBuffer log;
+	private int next;
+
+	@Setup
+	public void setup() {
+		entries = new HistoryStore.Entry[CITIES.length];
+		for (int i = 0; i < CITIES.length; i++) {
+			WeatherService.CityResult c = CITIES[i];
+			entries[i] = new HistoryStore.Entry(c.getName(), c.getRegion(), c.getCountry(), c.getLat(), c.getLon(),
+					1_700_000_000_000L);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int i = 0; i < records; i++) {
+			HistoryStore.Entry e = entries[i % entries.length];
+			out.writeBytes(HistoryStore.encode(new HistoryStore.Entry(e.name() + " " + (i % 2000), e.region(),
+					e.country(), e.lat(), e.lon(), e.time() + i)));
+		}
+		log = ByteBuffer.wrap(out.toByteArray());
+	}
+
+	/** One search turned into a log record. */
+	@Benchmark
+	public byte[] encode() {
+		return HistoryStore.encode(entries[next++ % entries.length]);
+	}
+
+	/** Startup: every record decoded, checksummed and indexed by city. */
+	@Benchmark
+	public int replay() {
+		ByteBuffer b = log.duplicate();
+		Map<String, HistoryStore.Entry> index = new LinkedHashMap<>();
+		HistoryStore.Entry e;
+		while ((e = HistoryStore.decode(b)) != null) {
+			String key = e.displayName();
+			index.remove(key);
+			index.put(key, e);
+		}
+		return index.size();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package clymate.bench;
+
+import clymate.backend.AssetUtils;
+import clymate.backend.ForecastParser;
+import clymate.backend.WeatherData;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import javax.swing.Icon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-cell cost of the {@link AssetUtils} lookups the dashboard makes for every
+ * hour and day it shows: condition text, icon (warm cache) and background path,
+ * cycling through every WMO code the API returns.
+ *
+ * <p>
+ * Reads {@code resources/icons}, so run it from the repository root.
+ *
+ * @author Malith Dissanayake
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AssetLookupBenchmark {
+
+	private static final int[] CODES = { 0, 1, 2, 3, 45, 48, 51, 53, 55, 56, 57, 61, 63, 65, 66, 67, 71, 73, 75, 77,
+			80, 81, 82, 85, 86, 95, 96, 99 };
+
+	private WeatherData data;
+	private int next;
+
+	@Setup
+	public void setup() throws Exception {
+		data = ForecastParser.parse(new ByteArrayInputStream(Fixtures.forecast()), "Berlin", "Germany");
+		for (int code : CODES) {
+			if (AssetUtils.getWeatherIcon(code, true, 65, 65) == null
+					|| AssetUtils.getWeatherIcon(code, false, 65, 65) == null)
+				throw new IllegalStateException("Run from the repository root");
+		}
+	}
+
+	private int code() {
+		return CODES[next++ % CODES.length];
+	}
+
+	@Benchmark
+	public String conditionText() {
+		return AssetUtils.getWeatherConditionText(code());
+	}
+
+	@Benchmark
+	public Icon weatherIcon() {
+		int n = next;
+		return AssetUtils.getWeatherIcon(code(), (n & 1) == 0, 65, 65);
+	}
+
+	@Benchmark
+	public String backgroundPath() {
+		return AssetUtils.getBackgroundPath(code(), data.getUtcOffset());
+	}
+
+	@Benchmark
+	public String smartAdvice() {
+		return AssetUtils.getSmartAdvice(data);
+	}
+}
\ No newline at end of file
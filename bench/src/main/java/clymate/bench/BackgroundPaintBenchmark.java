@@ -0,0 +1,76 @@
+package clymate.bench;
+
+import clymate.ui.BackgroundCompositor;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of painting the window background on an ordinary repaint, offscreen at
+ * the default 1000x750 window size: the old per-repaint scale-and-tint against
+ * the cached {@link BackgroundCompositor} surface.
+ *
+ * <p>
+ * Reads {@code resources/bg}, so run it from the repository root.
+ *
+ * @author Malith Dissanayake
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BackgroundPaintBenchmark {
+
+	private static final int W = 1000, H = 750;
+
+	private BufferedImage source;
+	private BufferedImage target;
+	private Graphics2D g;
+	private BackgroundCompositor compositor;
+
+	@Setup
+	public void setup() throws Exception {
+		source = ImageIO.read(new File("resources/bg/sun-noon.png"));
+		if (source == null)
+			throw new IllegalStateException("Run from the repository root");
+		target = new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB);
+		g = target.createGraphics();
+		compositor = new BackgroundCompositor();
+	}
+
+	@TearDown
+	public void tearDown() {
+		g.dispose();
+	}
+
+	/** The previous paintComponent body. */
+	@Benchmark
+	public BufferedImage scaleAndTintEachRepaint() {
+		g.drawImage(source, 0, 0, W, H, null);
+		g.setColor(new Color(0, 0, 0, 60));
+		g.fillRect(0, 0, W, H);
+		return target;
+	}
+
+	@Benchmark
+	public BufferedImage compositor() {
+		compositor.paint(g, W, H, source, true);
+		return target;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package clymate.bench;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Runs JMH with the GC profiler
+ * attached unless another profiler is requested, so every run reports
+ * allocation rate and bytes allocated per operation next to the latency.
+ *
+ * @author Malith Dissanayake
+ */
+public final class BenchMain {
+
+	private BenchMain() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		boolean profiled = Arrays.asList(args).contains("-prof");
+		if (!profiled) {
+			args = Arrays.copyOf(args, args.length + 2);
+			args[args.length - 2] = "-prof";
+			args[args.length - 1] = "gc";
+		}
+		org.openjdk.jmh.Main.main(args);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package clymate.bench;
+
+import clymate.backend.WeatherData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Reference org.json DOM parser, equivalent to what
+ * {@code WeatherService.getWeather} used before the streaming parser. Kept
+ * only as a baseline for {@link ForecastParseBenchmark}.
+ *
+ * @author Malith Dissanayake
+ */
+final class DomForecastParser {
+
+	private DomForecastParser() {
+	}
+
+	static WeatherData parse(String resp, String city, String country) {
+		JSONObject root = new JSONObject(resp);
+		JSONObject current = root.getJSONObject("current");
+		JSONObject daily = root.getJSONObject("daily");
+		JSONObject hourly = root.getJSONObject("hourly");
+
+		WeatherData data = new WeatherData();
+		data.setBasicInfo(city, country, root.getString("timezone"), root.getInt("utc_offset_seconds"));
+
+		data.setCurrentData(current.getDouble("temperature_2m"), current.getDouble("relative_humidity_2m"),
+				current.getDouble("wind_speed_10m"), current.getInt("weather_code"));
+
+		data.setExtraData(daily.getJSONArray("uv_index_max").optDouble(1, 0.0),
+				daily.getJSONArray("precipitation_probability_max").optInt(1, 0),
+				parseTime(daily.getJSONArray("sunrise").getString(1)),
+				parseTime(daily.getJSONArray("sunset").getString(1)),
+				daily.getJSONArray("temperature_2m_max").optDouble(0, 0.0));
+
+		ZoneRules rules = ZoneId.of(root.getString("timezone")).getRules();
+
+		JSONArray timeArr = daily.getJSONArray("time");
+		JSONArray maxArr = daily.getJSONArray("temperature_2m_max");
+		JSONArray minArr = daily.getJSONArray("temperature_2m_min");
+		JSONArray codes = daily.getJSONArray("weather_code");
+		JSONArray precip = daily.getJSONArray("precipitation_probability_max");
+		JSONArray windMax = daily.getJSONArray("wind_speed_10m_max");
+
+		int days = Math.min(timeArr.length(), maxArr.length());
+		long[] dTime = new long[days];
+		double[] dMax = new double[days], dMin = new double[days], dWind = new double[days];
+		byte[] dCode = new byte[days], dPrecip = new byte[days];
+		for (int i = 0; i < days; i++) {
+			dTime[i] = epoch(LocalDate.parse(timeArr.getString(i)).atStartOfDay(), rules);
+			dMax[i] = maxArr.optDouble(i, 0.0);
+			dMin[i] = minArr.optDouble(i, 0.0);
+			dWind[i] = windMax.optDouble(i, 0.0);
+			dCode[i] = (byte) codes.optInt(i, 0);
+			dPrecip[i] = (byte) precip.optInt(i, 0);
+		}
+		data.setDaily(dTime, dMax, dMin, dWind, dCode, dPrecip);
+
+		JSONArray hTime = hourly.getJSONArray("time");
+		JSONArray hTemp = hourly.getJSONArray("temperature_2m");
+		JSONArray hCode = hourly.getJSONArray("weather_code");
+		JSONArray hRain = hourly.getJSONArray("precipitation_probability");
+		JSONArray hWind = hourly.getJSONArray("wind_speed_10m");
+
+		int hours = hTime.length();
+		long[] time = new long[hours];
+		double[] temp = new double[hours], wind = new double[hours];
+		byte[] code = new byte[hours], rain = new byte[hours];
+		for (int i = 0; i < hours; i++) {
+			time[i] = epoch(LocalDateTime.parse(hTime.getString(i)), rules);
+			temp[i] = hTemp.optDouble(i, 0.0);
+			wind[i] = hWind.optDouble(i, 0.0);
+			code[i] = (byte) hCode.optInt(i, 0);
+			rain[i] = (byte) hRain.optInt(i, 0);
+		}
+		data.setHourly(time, temp, code, rain, wind);
+		return data;
+	}
+
+	private static long epoch(LocalDateTime t, ZoneRules rules) {
+		return t.toEpochSecond(rules.getOffset(t));
+	}
+
+	private static String parseTime(String iso) {
+		return LocalDateTime.parse(iso, DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+				.format(DateTimeFormatter.ofPattern("hh:mm a"));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package clymate.bench;
+
+import clymate.backend.WeatherData;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Field-by-field comparison of two parsed forecasts, used as a sanity check in
+ * benchmark setup so a faster parser cannot silently produce different data.
+ *
+ * @author Malith Dissanayake
+ */
+final class Equivalence {
+
+	private Equivalence() {
+	}
+
+	static void assertSame(WeatherData a, WeatherData b) {
+		check("city", a.getCityName(), b.getCityName());
+		check("country", a.getCountry(), b.getCountry());
+		check("offset", a.getUtcOffset(), b.getUtcOffset());
+		check("timezone", a.getTimezone(), b.getTimezone());
+		check("temp", a.getCurrentTemp(), b.getCurrentTemp());
+		check("humidity", a.getHumidity(), b.getHumidity());
+		check("wind", a.getWindSpeed(), b.getWindSpeed());
+		check("code", a.getWeatherCode(), b.getWeatherCode());
+		check("uv", a.getUvIndex(), b.getUvIndex());
+		check("precip", a.getPrecipProb(), b.getPrecipProb());
+		check("sunrise", a.getSunrise(), b.getSunrise());
+		check("sunset", a.getSunset(), b.getSunset());
+		check("yesterday", a.getYesterdayTemp(), b.getYesterdayTemp());
+
+		check("hourly.count", a.getHourlyCount(), b.getHourlyCount());
+		for (int i = 0; i < a.getHourlyCount(); i++)
+			check("hourly.epoch", a.getHourlyTime(i), b.getHourlyTime(i));
+		check("daily.count", a.getDailyCount(), b.getDailyCount());
+
+		List<WeatherData.HourlyForecast> ha = a.getHourlyForecast(), hb = b.getHourlyForecast();
+		check("hourly.size", ha.size(), hb.size());
+		for (int i = 0; i < ha.size(); i++) {
+			WeatherData.HourlyForecast x = ha.get(i), y = hb.get(i);
+			check("hourly.time", x.time(), y.time());
+			check("hourly.temp", x.temp(), y.temp());
+			check("hourly.wind", x.wind(), y.wind());
+			check("hourly.code", x.code(), y.code());
+			check("hourly.rain", x.rainChance(), y.rainChance());
+		}
+
+		List<WeatherData.DailyForecast> da = a.getForecast(), db = b.getForecast();
+		check("daily.size", da.size(), db.size());
+		for (int i = 0; i < da.size(); i++) {
+			WeatherData.DailyForecast x = da.get(i), y = db.get(i);
+			check("daily.day", x.dayName(), y.dayName());
+			check("daily.date", x.dateText(), y.dateText());
+			check("daily.max", x.max(), y.max());
+			check("daily.min", x.min(), y.min());
+			check("daily.wind", x.windMax(), y.windMax());
+			check("daily.code", x.code(), y.code());
+			check("daily.precip", x.precip(), y.precip());
+		}
+	}
+
+	private static void check(String what, Object a, Object b) {
+		if (!Objects.equals(a, b))
+			throw new IllegalStateException("Parsers disagree on " + what + ": " + a + " vs " + b);
+	}
+}
\ No newline at end of file
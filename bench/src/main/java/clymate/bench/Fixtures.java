@@ -0,0 +1,58 @@
+package clymate.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads recorded API responses from the classpath. Dates in the recordings are
+ * shifted so that "today" in the recording is today in the fixture's timezone,
+ * keeping the hourly "Now" lookup on the same code path as a live response.
+ *
+ * @author Malith Dissanayake
+ */
+public final class Fixtures {
+
+	private static final Pattern DATE = Pattern.compile("\"(\\d{4}-\\d{2}-\\d{2})");
+
+	private Fixtures() {
+	}
+
+	/**
+	 * @return A 16-day Berlin forecast (past_days=1) rebased to the current date.
+	 */
+	public static byte[] forecast() {
+		return rebase(load("forecast-berlin.json"), ZoneId.of("Europe/Berlin"));
+	}
+
+	static String load(String name) {
+		try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+			if (in == null)
+				throw new IllegalStateException("Missing fixture " + name);
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Shifts every ISO date so the first one becomes yesterday.
+	 */
+	static byte[] rebase(String json, ZoneId zone) {
+		Matcher m = DATE.matcher(json);
+		if (!m.find())
+			return json.getBytes(StandardCharsets.UTF_8);
+		long shift = LocalDate.now(zone).minusDays(1).toEpochDay() - LocalDate.parse(m.group(1)).toEpochDay();
+
+		StringBuilder sb = new StringBuilder(json.length());
+		m.reset();
+		while (m.find())
+			m.appendReplacement(sb, "\"" + LocalDate.parse(m.group(1)).plusDays(shift));
+		m.appendTail(sb);
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package clymate.bench;
+
+import clymate.backend.ForecastParser;
+import clymate.backend.WeatherData;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the streaming {@link ForecastParser} against the original org.json
+ * DOM path on a recorded 16-day forecast. Both variants start from the raw
+ * response bytes, as they would off the socket.
+ *
+ * @author Malith Dissanayake
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastParseBenchmark {
+
+	private byte[] body;
+
+	@Setup
+	public void setup() throws Exception {
+		body = Fixtures.forecast();
+		// Both parsers must agree before their timings mean anything
+		Equivalence.assertSame(domOrgJson(), streaming());
+	}
+
+	@Benchmark
+	public WeatherData domOrgJson() {
+		// Mirrors the old makeRequest(): whole body into a String first
+		try (Scanner s = new Scanner(new ByteArrayInputStream(body), StandardCharsets.UTF_8).useDelimiter("\\A")) {
+			return DomForecastParser.parse(s.next(), "Berlin", "Germany");
+		}
+	}
+
+	@Benchmark
+	public WeatherData streaming() throws Exception {
+		return ForecastParser.parse(new ByteArrayInputStream(body), "Berlin", "Germany");
+	}
+}
\ No newline at end of file
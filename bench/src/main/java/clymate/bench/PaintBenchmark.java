@@ -0,0 +1,139 @@
+package clymate.bench;
+
+import clymate.backend.ForecastParser;
+import clymate.backend.WeatherData;
+import clymate.ui.GlassPanel;
+import clymate.ui.components.DashboardView;
+import clymate.ui.components.ShadowLabel;
+import com.formdev.flatlaf.FlatDarkLaf;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Offscreen repaint cost of the custom components: a {@link ShadowLabel} with
+ * the crisp and the blurred shadow, a {@link GlassPanel} card, and the whole
+ * {@link DashboardView} at the default 1000x750 window size showing the
+ * recorded Berlin forecast. Every variant paints into the same
+ * {@link BufferedImage}, as a repaint of an already laid-out window would.
+ *
+ * <p>
+ * Reads {@code resources}, so run it from the repository root.
+ *
+ * @author Malith Dissanayake
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+
+	private static final int W = 1000, H = 750;
+
+	/** Stands in for the frame; the dashboard only reports to it. */
+	private static final DashboardView.Host HEADLESS = new DashboardView.Host() {
+		@Override
+		public void setStickyHeaderVisible(boolean visible, String city, String temp) {
+		}
+
+		@Override
+		public void showError(String message) {
+		}
+	};
+
+	private BufferedImage target;
+	private Graphics2D g;
+	private ShadowLabel label;
+	private ShadowLabel blurredLabel;
+	private GlassPanel panel;
+	private DashboardView dashboard;
+
+	@Setup
+	public void setup() throws Exception {
+		WeatherData data = ForecastParser.parse(new ByteArrayInputStream(Fixtures.forecast()), "Berlin", "Germany");
+		target = new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB);
+		g = target.createGraphics();
+
+		SwingUtilities.invokeAndWait(() -> {
+			FlatDarkLaf.setup();
+			label = new ShadowLabel("Partly Cloudy", 26, true);
+			label.setSize(label.getPreferredSize());
+			blurredLabel = new ShadowLabel("Partly Cloudy", 26, true);
+			blurredLabel.setShadowBlur(4);
+			blurredLabel.setSize(blurredLabel.getPreferredSize());
+
+			panel = new GlassPanel(100);
+			panel.setSize(460, 300);
+
+			dashboard = new DashboardView(HEADLESS);
+			// Lightweight peers, so validation reaches the whole tree without a window
+			dashboard.addNotify();
+			dashboard.setSize(W, H);
+			dashboard.showSnapshot(data);
+			layout(dashboard);
+		});
+		// Let the queued list and viewport updates run, then lay out what they changed
+		SwingUtilities.invokeAndWait(() -> layout(dashboard));
+	}
+
+	@TearDown
+	public void tearDown() {
+		g.dispose();
+	}
+
+	private static void layout(Component c) {
+		c.doLayout();
+		if (c instanceof Container k) {
+			for (Component child : k.getComponents())
+				layout(child);
+		}
+	}
+
+	private void clear() {
+		g.setColor(new Color(40, 70, 110));
+		g.fillRect(0, 0, W, H);
+	}
+
+	@Benchmark
+	public BufferedImage shadowLabel() {
+		label.paint(g);
+		return target;
+	}
+
+	@Benchmark
+	public BufferedImage shadowLabelBlurred() {
+		blurredLabel.paint(g);
+		return target;
+	}
+
+	@Benchmark
+	public BufferedImage glassPanel() {
+		panel.paint(g);
+		return target;
+	}
+
+	@Benchmark
+	public BufferedImage dashboard() {
+		clear();
+		dashboard.paint(g);
+		return target;
+	}
+}
\ No newline at end of file
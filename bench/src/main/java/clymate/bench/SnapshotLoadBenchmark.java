@@ -0,0 +1,57 @@
+package clymate.bench;
+
+import clymate.backend.ForecastParser;
+import clymate.backend.ForecastSnapshot;
+import clymate.backend.WeatherData;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cold-start snapshot path: reading and decoding the last
+ * forecast from disk, which gates the first meaningful paint.
+ *
+ * @author Malith Dissanayake
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotLoadBenchmark {
+
+	private Path file;
+
+	@Setup
+	public void setup() throws Exception {
+		WeatherData d = ForecastParser.parse(new ByteArrayInputStream(Fixtures.forecast()), "Berlin", "Germany");
+		d.setCoordinates(52.52, 13.41);
+		file = Files.createTempFile("clymate-snapshot", ".bin");
+		ForecastSnapshot.save(d, file);
+		// The snapshot must round-trip before its load time means anything
+		Equivalence.assertSame(d, load());
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public WeatherData load() {
+		return ForecastSnapshot.load(file);
+	}
+}
\ No newline at end of file
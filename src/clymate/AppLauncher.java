@@ -1,10 +1,16 @@
 package clymate;
 
+import java.time.Duration;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
 import com.formdev.flatlaf.FlatLightLaf;
+import clymate.backend.ForecastSnapshot;
+import clymate.backend.Gazetteer;
+import clymate.backend.WeatherData;
+import clymate.metrics.Metrics;
 import clymate.ui.ClyMateFrame;
+import clymate.ui.EdtWatchdog;
 
 /**
  * The main entry point for the ClyMate Weather Application. This class handles
@@ -33,9 +39,26 @@ public class AppLauncher {
 		// Setup the specific Look and Feel
 		FlatLightLaf.setup();
 
+		// Build the city index off the EDT so the first keystroke finds it ready
+		Thread.ofVirtual().name("gazetteer-load").start(Gazetteer::get);
+
+		// Readable from jconsole/VisualVM; -Dclymate.metrics.logSeconds=N also prints them every N seconds
+		Metrics.registerJmx();
+		long logSeconds = Long.getLong("clymate.metrics.logSeconds", 0);
+		if (logSeconds > 0)
+			Metrics.startLogging(Duration.ofSeconds(logSeconds));
+
+		// Reports (and records for JFR) any event dispatch held up past the threshold
+		long stallMillis = Long.getLong("clymate.edt.stallMillis", 200);
+		if (stallMillis > 0)
+			EdtWatchdog.start(Duration.ofMillis(100), Duration.ofMillis(stallMillis));
+
+		// Read the last forecast before the window exists so the first paint has data
+		WeatherData snapshot = ForecastSnapshot.load();
+
 		// Launch the UI on the Swing Event Dispatch Thread (EDT) for thread safety
 		SwingUtilities.invokeLater(() -> {
-			ClyMateFrame frame = new ClyMateFrame();
+			ClyMateFrame frame = new ClyMateFrame(snapshot);
 			frame.setVisible(true);
 		});
 	}
@@ -0,0 +1,77 @@
+package clymate;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import clymate.backend.Gazetteer;
+import clymate.metrics.Metrics;
+import clymate.server.WeatherServer;
+
+/**
+ * Entry point for the headless server mode: serves the forecast, search and
+ * advice logic of the app as JSON over HTTP instead of opening a window.
+ *
+ * <pre>
+ * java -cp ... clymate.ServerLauncher [--port 8080] [--bind 0.0.0.0] [--cache 4096]
+ * </pre>
+ *
+ * A summary line with the latency percentiles is logged every
+ * {@code -Dclymate.server.statsSeconds} seconds (default 60, 0 to disable).
+ *
+ * @author Malith Dissanayake
+ */
+public class ServerLauncher {
+
+	/**
+	 * Starts the server and keeps it running until the process is stopped.
+	 *
+	 * @param args {@code --port}, {@code --bind} and {@code --cache} (forecasts
+	 *             kept in memory).
+	 */
+	public static void main(String[] args) throws Exception {
+		Logger.getLogger("com.github.weisj.jsvg.parser.css.impl.SimpleCssParser").setLevel(Level.OFF);
+		Logger.getLogger("com.github.weisj.jsvg.parser.css.impl.Lexer").setLevel(Level.OFF);
+		System.setProperty("java.awt.headless", "true");
+
+		int port = 8080;
+		String bind = "0.0.0.0";
+		int cache = 4096;
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+			case "--port" -> port = Integer.parseInt(args[i + 1]);
+			case "--bind" -> bind = args[i + 1];
+			case "--cache" -> cache = Integer.parseInt(args[i + 1]);
+			default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+		// Must be set before WeatherService creates its cache
+		if (System.getProperty("clymate.forecast.cacheEntries") == null)
+			System.setProperty("clymate.forecast.cacheEntries", Integer.toString(cache));
+
+		// Load the city index up front so the first search does not pay for it
+		Gazetteer.get();
+
+		// Readable from jconsole/VisualVM; -Dclymate.metrics.logSeconds=N also prints them every N seconds
+		Metrics.registerJmx();
+		long logSeconds = Long.getLong("clymate.metrics.logSeconds", 0);
+		if (logSeconds > 0)
+			Metrics.startLogging(Duration.ofSeconds(logSeconds));
+
+		WeatherServer server = new WeatherServer(new InetSocketAddress(bind, port), cache);
+		server.start();
+		System.out.println("ClyMate server listening on " + server.getAddress());
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			server.stop(1);
+			System.out.println(server);
+		}));
+
+		// The server's dispatcher thread keeps the process alive; main only reports
+		long interval = Long.getLong("clymate.server.statsSeconds", 60);
+		while (interval > 0) {
+			TimeUnit.SECONDS.sleep(interval);
+			System.out.println(server);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package clymate.backend;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe LRU cache bounded by the estimated memory of its values rather
+ * than their count. When a new value pushes the total weight over the budget,
+ * the least recently used entries are dropped until it fits again.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Malith Dissanayake
+ */
+public final class AssetCache<K, V> {
+
+	private static final class Entry<V> {
+		final V value;
+		final long weight;
+
+		Entry(V value, long weight) {
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	private final String name;
+	private final long maxWeight;
+	private final ToLongFunction<V> weigher;
+
+	// Access-ordered: iteration starts at the least recently used entry
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long weight;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param name      Label used in {@link #toString()}.
+	 * @param maxWeight Budget in bytes.
+	 * @param weigher   Estimates the bytes a value keeps alive.
+	 */
+	public AssetCache(String name, long maxWeight, ToLongFunction<V> weigher) {
+		this.name = name;
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+	}
+
+	/**
+	 * @return The cached value, or null on a miss.
+	 */
+	public V get(K key) {
+		synchronized (entries) {
+			Entry<V> e = entries.get(key);
+			if (e != null) {
+				hits.increment();
+				return e.value;
+			}
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Returns the cached value, loading and caching it on a miss. The loader runs
+	 * without holding the cache lock, so two threads missing the same key at once
+	 * may both load it; the later value wins.
+	 *
+	 * @param loader Produces the value, or null if it cannot (nothing is cached).
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V v = get(key);
+		if (v != null)
+			return v;
+		v = loader.apply(key);
+		if (v != null)
+			put(key, v);
+		return v;
+	}
+
+	/**
+	 * Stores a value, evicting least recently used entries to stay within budget.
+	 * A value heavier than the whole budget is not cached, and any earlier value
+	 * for the key is dropped rather than served in its place.
+	 */
+	public void put(K key, V value) {
+		long w = Math.max(0, weigher.applyAsLong(value));
+		synchronized (entries) {
+			if (w > maxWeight) {
+				Entry<V> old = entries.remove(key);
+				if (old != null)
+					weight -= old.weight;
+				return;
+			}
+			Entry<V> old = entries.put(key, new Entry<>(value, w));
+			if (old != null)
+				weight -= old.weight;
+			weight += w;
+
+			// The new entry is last in order and fits on its own, so the loop stops before it
+			Iterator<Entry<V>> it = entries.values().iterator();
+			while (weight > maxWeight) {
+				Entry<V> eldest = it.next();
+				it.remove();
+				weight -= eldest.weight;
+				evictions.increment();
+			}
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			weight = 0;
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/** @return Estimated bytes currently held. */
+	public long getWeight() {
+		synchronized (entries) {
+			return weight;
+		}
+	}
+
+	/** @return The budget in bytes. */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "AssetCache[" + name + ", size=" + size() + ", weight=" + getWeight() / 1024 + "/" + maxWeight / 1024
+				+ " KB, hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + "]";
+	}
+
+	/**
+	 * Reads a budget in megabytes from a system property.
+	 *
+	 * @return The budget in bytes.
+	 */
+	static long megabytes(String property, long defaultMb) {
+		try {
+			return Long.parseLong(System.getProperty(property, String.valueOf(defaultMb)).trim()) << 20;
+		} catch (NumberFormatException e) {
+			return defaultMb << 20;
+		}
+	}
+}
\ No newline at end of file
@@ -1,12 +1,28 @@
 package clymate.backend;
 
+import clymate.metrics.LatencyHistogram;
+import clymate.metrics.Metrics;
 import com.formdev.flatlaf.extras.FlatSVGIcon;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.time.ZoneOffset;
-import java.util.HashMap;
-import java.util.Map;
-import javax.swing.ImageIcon;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.Icon;
+import javax.swing.SwingUtilities;
 
 /**
  * Utility class for managing assets (images, icons) and creating dynamic
@@ -16,9 +32,41 @@ import javax.swing.ImageIcon;
  */
 public class AssetUtils {
 
-	// Caches to improve performance and reduce disk I/O
-	private static final Map<String, FlatSVGIcon> iconCache = new HashMap<>();
-	private static final Map<String, ImageIcon> bgCache = new HashMap<>();
+	// Caches to improve performance and reduce disk I/O, bounded by estimated
+	// ARGB pixel bytes. Budgets in MB can be set with the system properties below.
+	// Icons are atlas handles; their pixels live in IconAtlas under the same budget
+	private static final AssetCache<String, Icon> iconCache = new AssetCache<>("icons",
+			AssetCache.megabytes("clymate.cache.icons.mb", 4), i -> 4L * i.getIconWidth() * i.getIconHeight());
+	private static final AssetCache<String, BufferedImage> bgCache = new AssetCache<>("backgrounds",
+			AssetCache.megabytes("clymate.cache.backgrounds.mb", 24), i -> 4L * i.getWidth() * i.getHeight());
+
+	// Backgrounds are decoded off the EDT; decoding is CPU-bound, so two threads suffice
+	private static final ExecutorService decoder = Executors.newFixedThreadPool(2, r -> {
+		Thread t = new Thread(r, "clymate-image-decoder");
+		t.setDaemon(true);
+		return t;
+	});
+	// Cache keys being decoded with the callbacks waiting on them, and paths
+	// that cannot be decoded at all
+	private static final ConcurrentHashMap<String, List<Runnable>> decoding = new ConcurrentHashMap<>();
+	private static final Set<String> unreadable = ConcurrentHashMap.newKeySet();
+
+	/** Display sizes are rounded up to this step so resizing does not re-decode. */
+	private static final int SIZE_STEP = 256;
+
+	// Lookups run on the EDT, so their time is paint time; loads and decodes are the misses
+	private static final LatencyHistogram iconLookup = Metrics.timer("asset.icon.lookup");
+	private static final LatencyHistogram iconLoad = Metrics.timer("asset.icon.load");
+	private static final LatencyHistogram bgLookup = Metrics.timer("asset.bg.lookup");
+	private static final LatencyHistogram bgDecode = Metrics.timer("asset.bg.decode");
+
+	static {
+		gauges("cache.icons", iconCache);
+		gauges("cache.backgrounds", bgCache);
+	}
+
+	// Hours at which getBackgroundPath may pick a different image
+	private static final int[] SLOT_STARTS = { 5, 12, 17, 19, 22 };
 
 	/**
 	 * Translates WMO weather codes to human readable strings.
@@ -79,7 +127,7 @@ public class AssetUtils {
 	/**
 	 * Selects appropriate weather icon based on code and day/night cycle.
 	 */
-	public static FlatSVGIcon getWeatherIcon(int code, boolean isDay, int w, int h) {
+	public static Icon getWeatherIcon(int code, boolean isDay, int w, int h) {
 		String name;
 		if (code >= 95)
 			name = "thunder.svg";
@@ -98,45 +146,173 @@ public class AssetUtils {
 	}
 
 	/**
-	 * Loads and caches an SVG icon.
+	 * Loads and caches an SVG icon. The icon paints from the shared
+	 * {@link IconAtlas}, so JSVG renders it once per size and display scale.
 	 */
-	public static FlatSVGIcon getIcon(String name, int w, int h) {
-		String key = name + "_" + w + "_" + h;
-		if (iconCache.containsKey(key))
-			return iconCache.get(key);
+	public static Icon getIcon(String name, int w, int h) {
+		long start = System.nanoTime();
+		Icon icon = iconCache.get(name + "_" + w + "_" + h, key -> loadIcon(key, name, w, h));
+		iconLookup.recordSince(start);
+		return icon;
+	}
+
+	private static Icon loadIcon(String key, String name, int w, int h) {
+		long start = System.nanoTime();
 		try {
 			File f = new File("resources/icons/" + name);
 			if (!f.exists())
 				f = new File("resources/icons/sun.svg"); // Fail-safe default
 
-			if (f.exists()) {
-				FlatSVGIcon icon = new FlatSVGIcon(f).derive(w, h);
-				iconCache.put(key, icon);
-				return icon;
-			}
+			if (f.exists())
+				return IconAtlas.icon(key, new FlatSVGIcon(f).derive(w, h));
 		} catch (Exception e) {
 			// Squelch errors for missing resources
+		} finally {
+			iconLoad.recordSince(start);
 		}
 		return null;
 	}
 
 	/**
-	 * Loads and caches a background image.
+	 * Returns a background image sized for a display area, never larger than the
+	 * asset itself. Images not yet decoded are decoded on a worker thread; the
+	 * caller gets null and {@code onReady} runs on the EDT once the image is
+	 * available.
+	 *
+	 * @param path    Path from {@link #getBackgroundPath(int, int)}.
+	 * @param w       Display width in device pixels.
+	 * @param h       Display height in device pixels.
+	 * @param onReady Run on the EDT when the decode finishes, also if another
+	 *                call started it; or null.
+	 * @return The image, or null while it is decoding or if it cannot be read.
 	 */
-	public static ImageIcon getImage(String path) {
-		if (bgCache.containsKey(path))
-			return bgCache.get(path);
-		try {
-			File f = new File(path);
-			if (f.exists()) {
-				ImageIcon img = new ImageIcon(f.getAbsolutePath());
-				bgCache.put(path, img);
-				return img;
+	public static BufferedImage getBackground(String path, int w, int h, Runnable onReady) {
+		if (path == null || unreadable.contains(path))
+			return null;
+		long start = System.nanoTime();
+		int bw = bucket(w), bh = bucket(h);
+		BufferedImage img = bgCache.get(path + "@" + bw + "x" + bh);
+		if (img == null)
+			decodeAsync(path, bw, bh, onReady);
+		bgLookup.recordSince(start);
+		return img;
+	}
+
+	/**
+	 * Decodes the current background and the one the next time-of-day slot will
+	 * show for the same weather, so neither has to be waited for.
+	 *
+	 * @param w Display width in device pixels.
+	 * @param h Display height in device pixels.
+	 */
+	public static void prefetchBackgrounds(int code, int utcOffsetSeconds, int w, int h) {
+		int hour = ZonedDateTime.now(ZoneOffset.ofTotalSeconds(utcOffsetSeconds)).getHour();
+		int next = SLOT_STARTS[0];
+		for (int s : SLOT_STARTS) {
+			if (s > hour) {
+				next = s;
+				break;
 			}
-		} catch (Exception e) {
-			// Squelch
 		}
-		return null;
+		int bw = bucket(w), bh = bucket(h);
+		for (String path : new String[] { getBackgroundPathAt(code, hour), getBackgroundPathAt(code, next) }) {
+			if (!unreadable.contains(path) && bgCache.get(path + "@" + bw + "x" + bh) == null)
+				decodeAsync(path, bw, bh, null);
+		}
+	}
+
+	private static int bucket(int size) {
+		return Math.max(1, (size + SIZE_STEP - 1) / SIZE_STEP) * SIZE_STEP;
+	}
+
+	private static void decodeAsync(String path, int w, int h, Runnable onReady) {
+		String key = path + "@" + w + "x" + h;
+		boolean[] queued = { true };
+		decoding.compute(key, (k, waiting) -> {
+			if (waiting == null) {
+				waiting = new ArrayList<>();
+				queued[0] = false;
+			}
+			if (onReady != null)
+				waiting.add(onReady);
+			return waiting;
+		});
+		if (queued[0])
+			return; // The running decode calls onReady too
+		decoder.execute(() -> {
+			long start = System.nanoTime();
+			List<Runnable> waiting;
+			try {
+				BufferedImage img = decode(new File(path), w, h);
+				bgDecode.recordSince(start);
+				if (img == null) {
+					unreadable.add(path);
+					return;
+				}
+				bgCache.put(key, img);
+			} catch (IOException | RuntimeException e) {
+				// ImageIO plugins can also throw unchecked exceptions on corrupt
+				// files; either way the path is not retried
+				unreadable.add(path);
+				return;
+			} finally {
+				waiting = decoding.remove(key);
+			}
+			for (Runnable r : waiting)
+				SwingUtilities.invokeLater(r);
+		});
+	}
+
+	/**
+	 * Decodes an image no larger than w x h. Large reductions are made while
+	 * decoding (subsampling), the rest with one bilinear scale.
+	 */
+	private static BufferedImage decode(File f, int w, int h) throws IOException {
+		if (!f.exists())
+			return null;
+		try (ImageInputStream in = ImageIO.createImageInputStream(f)) {
+			Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+			if (readers == null || !readers.hasNext())
+				return null;
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(in, true, true);
+				int sw = reader.getWidth(0), sh = reader.getHeight(0);
+				int tw = Math.min(sw, w), th = Math.min(sh, h);
+				ImageReadParam param = reader.getDefaultReadParam();
+				int sub = Math.min(sw / tw, sh / th);
+				if (sub > 1)
+					param.setSourceSubsampling(sub, sub, 0, 0);
+				BufferedImage img = reader.read(0, param);
+				if (img.getWidth() == tw && img.getHeight() == th)
+					return img;
+
+				BufferedImage out = new BufferedImage(tw, th, BufferedImage.TYPE_INT_RGB);
+				Graphics2D g = out.createGraphics();
+				g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				g.drawImage(img, 0, 0, tw, th, null);
+				g.dispose();
+				return out;
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private static void gauges(String name, AssetCache<?, ?> c) {
+		Metrics.gauge(name + ".hits", c::getHits);
+		Metrics.gauge(name + ".misses", c::getMisses);
+		Metrics.gauge(name + ".bytes", c::getWeight);
+	}
+
+	/** @return The SVG icon cache, for statistics. */
+	public static AssetCache<String, Icon> getIconCache() {
+		return iconCache;
+	}
+
+	/** @return The background image cache, for statistics. */
+	public static AssetCache<String, BufferedImage> getBackgroundCache() {
+		return bgCache;
 	}
 
 	/**
@@ -144,7 +320,10 @@ public class AssetUtils {
 	 * Combines Weather Code + Local Time of City.
 	 */
 	public static String getBackgroundPath(int code, int utcOffsetSeconds) {
-		int hour = ZonedDateTime.now(ZoneOffset.ofTotalSeconds(utcOffsetSeconds)).getHour();
+		return getBackgroundPathAt(code, ZonedDateTime.now(ZoneOffset.ofTotalSeconds(utcOffsetSeconds)).getHour());
+	}
+
+	private static String getBackgroundPathAt(int code, int hour) {
 		boolean isNight = (hour >= 19 || hour < 5);
 		String s = (hour >= 5 && hour < 12) ? "morning" : (hour >= 12 && hour < 17) ? "noon" : "evening";
 		String b = "resources/bg/";
@@ -0,0 +1,461 @@
+package clymate.backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Guards the calls to one remote endpoint. A token bucket keeps the request
+ * rate under the provider's limit; failed attempts are retried with jittered
+ * exponential backoff for as long as the caller's deadline allows; a slow
+ * attempt can be hedged with a second one; and after repeated failures a
+ * circuit breaker fails calls fast, so callers fall back to cached data
+ * instead of waiting on an endpoint that is down.
+ *
+ * <p>
+ * Only transient failures count: I/O errors, timeouts, 5xx and 429 responses.
+ * Other statuses and responses that cannot be parsed
+ * ({@link BadResponseException}) would fail the same way again, so they are
+ * not retried and leave the breaker alone. A round of attempts, a hedged one
+ * included, counts as one failure. Cancelling a call cancels its running
+ * attempts.
+ *
+ * @author Malith Dissanayake
+ */
+public final class Endpoint {
+
+	/**
+	 * The failure of a call made while the circuit is open.
+	 */
+	public static final class OpenCircuitException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		OpenCircuitException(String name, long retryInMillis) {
+			super(name + " is failing; next try in " + retryInMillis + " ms");
+		}
+	}
+
+	/**
+	 * A non-2xx response.
+	 */
+	public static final class StatusException extends IOException {
+		private static final long serialVersionUID = 1L;
+		private final int status;
+
+		public StatusException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+
+		public int getStatus() {
+			return status;
+		}
+	}
+
+	/**
+	 * A response that arrived in full but could not be parsed.
+	 */
+	public static final class BadResponseException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		public BadResponseException(String message, Throwable cause) {
+			super(message, cause);
+		}
+	}
+
+	/**
+	 * Starts one attempt at a call.
+	 */
+	@FunctionalInterface
+	public interface Attempt<T> {
+		/**
+		 * @param timeout Time left before the caller's deadline.
+		 */
+		CompletableFuture<T> start(Duration timeout);
+	}
+
+	private enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+
+	// Token bucket
+	private final double permitsPerNano;
+	private final int burst;
+	private double tokens;
+	private long refilledAt;
+
+	// Retries and hedging
+	private int maxAttempts = 1;
+	private long baseBackoffNanos;
+	private long maxBackoffNanos;
+	private long hedgeAfterNanos;
+
+	// Circuit breaker
+	private int failureThreshold = Integer.MAX_VALUE;
+	private long openNanos;
+	private State state = State.CLOSED;
+	private int failures;
+	private long openUntil;
+
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder attempts = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder hedges = new LongAdder();
+	private final LongAdder throttled = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * @param name             Identifies the endpoint in errors and
+	 *                         {@link #toString()}.
+	 * @param permitsPerSecond Sustained request rate allowed.
+	 * @param burst            Requests allowed back to back after a quiet
+	 *                         period.
+	 */
+	public Endpoint(String name, double permitsPerSecond, int burst) {
+		this.name = name;
+		this.permitsPerNano = permitsPerSecond / 1e9;
+		this.burst = burst;
+		this.tokens = burst;
+		this.refilledAt = System.nanoTime();
+	}
+
+	/**
+	 * Retries transient failures, waiting a random time up to
+	 * {@code base * 2^(n-1)} (capped at {@code max}) before attempt n+1.
+	 *
+	 * @param maxAttempts Attempts per call, including the first.
+	 * @return This endpoint.
+	 */
+	public Endpoint retries(int maxAttempts, Duration base, Duration max) {
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.baseBackoffNanos = base.toNanos();
+		this.maxBackoffNanos = max.toNanos();
+		return this;
+	}
+
+	/**
+	 * Starts a second, competing attempt when the first has not answered after
+	 * {@code delay}; the first answer wins and the other is cancelled. Only
+	 * applies to calls that ask for it.
+	 *
+	 * @return This endpoint.
+	 */
+	public Endpoint hedgeAfter(Duration delay) {
+		this.hedgeAfterNanos = delay.toNanos();
+		return this;
+	}
+
+	/**
+	 * Opens the circuit after {@code threshold} transient failures in a row.
+	 * While open, calls fail at once; every {@code open} one call is let
+	 * through to probe the endpoint, and its success closes the circuit again.
+	 *
+	 * @return This endpoint.
+	 */
+	public Endpoint breaker(int threshold, Duration open) {
+		this.failureThreshold = threshold;
+		this.openNanos = open.toNanos();
+		return this;
+	}
+
+	/**
+	 * Makes a call.
+	 *
+	 * @param deadline Time allowed for the whole call, retries included.
+	 * @param hedge    Whether a slow attempt may be hedged; leave off for
+	 *                 expensive requests.
+	 * @param attempt  Starts one attempt. May be invoked several times.
+	 * @return The first successful result, or the last failure.
+	 */
+	public <T> CompletableFuture<T> call(Duration deadline, boolean hedge, Attempt<T> attempt) {
+		calls.increment();
+		Call<T> c = new Call<>(attempt, System.nanoTime() + deadline.toNanos(), hedge && hedgeAfterNanos > 0);
+		c.next(1);
+		return c.result;
+	}
+
+	/** @return Whether calls are currently being failed fast. */
+	public synchronized boolean isOpen() {
+		return state != State.CLOSED;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	public long getAttempts() {
+		return attempts.sum();
+	}
+
+	public long getRetries() {
+		return retries.sum();
+	}
+
+	public long getHedges() {
+		return hedges.sum();
+	}
+
+	/** @return Attempts that had to wait for a rate limit permit. */
+	public long getThrottled() {
+		return throttled.sum();
+	}
+
+	/** @return Calls failed fast by the open circuit. */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "Endpoint[" + name + ", state=" + stateName() + ", calls=" + getCalls() + ", attempts="
+				+ getAttempts() + ", retries=" + getRetries() + ", hedges=" + getHedges() + ", throttled="
+				+ getThrottled() + ", rejected=" + getRejected() + "]";
+	}
+
+	/** @return CLOSED, OPEN or HALF_OPEN. */
+	public synchronized String stateName() {
+		return state.name();
+	}
+
+	// -- Rate limiting --
+
+	/**
+	 * Takes a permit, possibly from the future.
+	 *
+	 * @return Nanoseconds to wait before using it, or -1 (and nothing taken) if
+	 *         that would be longer than {@code maxWait}.
+	 */
+	private synchronized long reserve(long maxWait) {
+		long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+		refilledAt = now;
+		if (tokens >= 1) {
+			tokens -= 1;
+			return 0;
+		}
+		// Negative balance: later callers queue behind this one
+		long wait = (long) Math.ceil((1 - tokens) / permitsPerNano);
+		if (wait > maxWait)
+			return -1;
+		tokens -= 1;
+		return wait;
+	}
+
+	// -- Circuit breaker --
+
+	/**
+	 * @return 0 if a call may go ahead, or the milliseconds until the circuit
+	 *         lets one through.
+	 */
+	private synchronized long admit() {
+		if (state == State.CLOSED)
+			return 0;
+		long now = System.nanoTime();
+		if (now - openUntil >= 0) {
+			// Let one probe through; another only if it never reports back
+			state = State.HALF_OPEN;
+			openUntil = now + openNanos;
+			return 0;
+		}
+		return Math.max(1, TimeUnit.NANOSECONDS.toMillis(openUntil - now));
+	}
+
+	private synchronized void succeeded() {
+		state = State.CLOSED;
+		failures = 0;
+	}
+
+	private synchronized void failed() {
+		if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+			state = State.OPEN;
+			openUntil = System.nanoTime() + openNanos;
+			failures = 0;
+		}
+	}
+
+	private static boolean isTransient(Throwable e) {
+		if (e instanceof StatusException s)
+			return s.getStatus() >= 500 || s.getStatus() == 429;
+		if (e instanceof BadResponseException)
+			return false;
+		return e instanceof IOException || e instanceof TimeoutException;
+	}
+
+	private static Throwable unwrap(Throwable e) {
+		while ((e instanceof CompletionException || e instanceof UncheckedIOException) && e.getCause() != null)
+			e = e.getCause();
+		return e;
+	}
+
+	/**
+	 * One call: its attempts so far and the result the caller sees.
+	 */
+	private final class Call<T> {
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		final Attempt<T> attempt;
+		final long deadline;
+		final boolean hedge;
+		final List<CompletableFuture<T>> running = new ArrayList<>();
+
+		Call(Attempt<T> attempt, long deadline, boolean hedge) {
+			this.attempt = attempt;
+			this.deadline = deadline;
+			this.hedge = hedge;
+			result.whenComplete((r, e) -> cancelRunning());
+		}
+
+		/** Admits and schedules attempt {@code n}. */
+		void next(int n) {
+			if (result.isDone())
+				return;
+			long closedIn = admit();
+			if (closedIn > 0) {
+				rejected.increment();
+				result.completeExceptionally(new OpenCircuitException(name, closedIn));
+				return;
+			}
+			long wait = reserve(deadline - System.nanoTime());
+			if (wait < 0) {
+				result.completeExceptionally(new HttpTimeoutException(name + " rate limit leaves no time"));
+				return;
+			}
+			if (wait == 0) {
+				launch(n, new Round());
+			} else {
+				throttled.increment();
+				CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS).execute(() -> launch(n, new Round()));
+			}
+		}
+
+		/**
+		 * Starts attempt {@code n}, the first of its round.
+		 */
+		void launch(int n, Round round) {
+			if (result.isDone())
+				return;
+			long left = deadline - System.nanoTime();
+			if (left <= 0) {
+				result.completeExceptionally(new HttpTimeoutException(name + " deadline exceeded"));
+				return;
+			}
+			start(n, round, left);
+
+			if (hedge && left > hedgeAfterNanos) {
+				CompletableFuture.delayedExecutor(hedgeAfterNanos, TimeUnit.NANOSECONDS).execute(() -> {
+					long rest = deadline - System.nanoTime();
+					if (result.isDone() || rest <= 0 || !round.join())
+						return; // The round is over already
+					if (reserve(0) != 0) {
+						// Only a spare permit; a hedge is never worth queueing for
+						leave(n, round);
+						return;
+					}
+					hedges.increment();
+					start(n, round, rest);
+				});
+			}
+		}
+
+		private void start(int n, Round round, long timeout) {
+			attempts.increment();
+			CompletableFuture<T> f;
+			try {
+				f = attempt.start(Duration.ofNanos(timeout));
+			} catch (RuntimeException e) {
+				f = CompletableFuture.failedFuture(e);
+			}
+			synchronized (running) {
+				running.add(f);
+			}
+			if (result.isDone())
+				f.cancel(true);
+			f.whenComplete((r, e) -> finished(n, round, r, e));
+		}
+
+		private void finished(int n, Round round, T r, Throwable e) {
+			if (e == null) {
+				round.pending.decrementAndGet();
+				succeeded();
+				result.complete(r);
+				return;
+			}
+			Throwable cause = unwrap(e);
+			// A cancelled attempt lost to a hedge or was cancelled by the caller
+			if (!(cause instanceof CancellationException))
+				round.failure = cause;
+			leave(n, round);
+		}
+
+		/**
+		 * Takes an attempt that ended without a result out of its round; the last
+		 * one out settles a failed round.
+		 */
+		private void leave(int n, Round round) {
+			if (round.pending.decrementAndGet() > 0 || result.isDone())
+				return; // Another attempt of this round may still answer
+			Throwable cause = round.failure;
+			if (cause == null)
+				return; // Nothing failed; the call was cancelled
+
+			// The round failed: one failure for the breaker, however many attempts
+			boolean retry = isTransient(cause);
+			if (retry)
+				failed();
+
+			if (retry && n < maxAttempts) {
+				long cap = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(n - 1, 30));
+				long backoff = ThreadLocalRandom.current().nextLong(cap + 1);
+				if (System.nanoTime() + backoff < deadline) {
+					retries.increment();
+					CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS).execute(() -> next(n + 1));
+					return;
+				}
+			}
+			result.completeExceptionally(cause);
+		}
+
+		/**
+		 * The attempts of one round: the first and, maybe, its hedge.
+		 */
+		private static final class Round {
+			final AtomicInteger pending = new AtomicInteger(1);
+			// Set before an attempt leaves, so the last one out sees every failure
+			volatile Throwable failure;
+
+			/** Adds a hedge, unless every attempt of the round has already ended. */
+			boolean join() {
+				for (int p = pending.get(); p > 0; p = pending.get()) {
+					if (pending.compareAndSet(p, p + 1))
+						return true;
+				}
+				return false;
+			}
+		}
+
+		private void cancelRunning() {
+			List<CompletableFuture<T>> all;
+			synchronized (running) {
+				all = new ArrayList<>(running);
+			}
+			for (CompletableFuture<T> f : all)
+				f.cancel(true);
+		}
+	}
+}
\ No newline at end of file
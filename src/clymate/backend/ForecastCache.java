@@ -0,0 +1,137 @@
+package clymate.backend;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory forecast cache keyed by quantized coordinates. Places that fall in
+ * the same forecast grid cell share an entry, and entries expire at the next
+ * top of the hour, when Open-Meteo publishes its next model run.
+ *
+ * @author Malith Dissanayake
+ */
+public final class ForecastCache {
+
+	/** Cell size in degrees (~11 km), the resolution of the global models behind best_match. */
+	public static final double GRID_DEGREES = 0.1;
+
+	private static final long HOUR_MILLIS = 3_600_000L;
+
+	private static final class Entry {
+		final WeatherData data;
+		final long expiresAt;
+
+		Entry(WeatherData data, long expiresAt) {
+			this.data = data;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final Map<Long, Entry> entries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param maxEntries Maximum number of cells held; the least recently used is
+	 *                   evicted beyond this.
+	 */
+	public ForecastCache(int maxEntries) {
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+				if (size() > maxEntries) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Looks up a fresh forecast for the cell containing the coordinate.
+	 *
+	 * @return The cached data, or null on a miss or an expired entry.
+	 */
+	public WeatherData get(double lat, double lon) {
+		long now = System.currentTimeMillis();
+		synchronized (entries) {
+			Entry e = entries.get(key(lat, lon));
+			if (e != null && e.expiresAt > now) {
+				hits.increment();
+				return e.data;
+			}
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Looks up the last forecast for the cell containing the coordinate, however
+	 * old. Expired entries stay until evicted for this fallback.
+	 *
+	 * @return The cached data, or null if the cell was never fetched.
+	 */
+	public WeatherData getStale(double lat, double lon) {
+		synchronized (entries) {
+			Entry e = entries.get(key(lat, lon));
+			return e == null ? null : e.data;
+		}
+	}
+
+	/**
+	 * Stores a forecast until the next model update.
+	 */
+	public void put(double lat, double lon, WeatherData data) {
+		long now = System.currentTimeMillis();
+		long expiresAt = (now / HOUR_MILLIS + 1) * HOUR_MILLIS;
+		synchronized (entries) {
+			entries.put(key(lat, lon), new Entry(data, expiresAt));
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "ForecastCache[size=" + size() + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions="
+				+ getEvictions() + "]";
+	}
+
+	/**
+	 * Packs the grid cell of a coordinate into one long. Coordinates with the
+	 * same key share a cache entry.
+	 */
+	public static long key(double lat, double lon) {
+		long la = Math.round(lat / GRID_DEGREES);
+		long lo = Math.round(lon / GRID_DEGREES);
+		return (la << 32) | (lo & 0xFFFFFFFFL);
+	}
+}
\ No newline at end of file
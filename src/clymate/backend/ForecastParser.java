@@ -0,0 +1,318 @@
+package clymate.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming parser for Open-Meteo forecast responses. Reads the
+ * {@code current}, {@code hourly} and {@code daily} blocks straight off the
+ * connection into primitive arrays, skipping every member the dashboard does
+ * not use.
+ *
+ * @author Malith Dissanayake
+ */
+public final class ForecastParser {
+
+	private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("hh:mm a");
+
+	private final JsonReader reader;
+	// Reusable buffer for ISO date strings (e.g. "2026-01-31T14:00")
+	private final char[] chars = new char[32];
+
+	// Root members
+	private String timezone;
+	private int utcOffset;
+
+	// current
+	private double curTemp, curHumidity, curWind;
+	private int curCode;
+
+	// hourly (times are local wall-clock seconds since the epoch)
+	private long[] hTime = new long[0];
+	private double[] hTemp = new double[0];
+	private int[] hCode = new int[0];
+	private int[] hRain = new int[0];
+	private double[] hWind = new double[0];
+
+	// daily (times are local epoch days, sunrise/sunset local epoch seconds)
+	private long[] dTime = new long[0];
+	private double[] dMax = new double[0];
+	private double[] dMin = new double[0];
+	private int[] dCode = new int[0];
+	private double[] dUv = new double[0];
+	private int[] dPrecip = new int[0];
+	private double[] dWind = new double[0];
+	private long[] dSunrise = new long[0];
+	private long[] dSunset = new long[0];
+
+	private ForecastParser(JsonReader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Parses a single-location forecast response.
+	 *
+	 * @param in      The response body.
+	 * @param city    City Name (display)
+	 * @param country Country Name (display)
+	 * @return A populated WeatherData object.
+	 * @throws IOException If the stream fails or the JSON is malformed.
+	 */
+	public static WeatherData parse(InputStream in, String city, String country) throws IOException {
+		ForecastParser p = new ForecastParser(new JsonReader(in));
+		p.readRoot();
+		return p.build(city, country);
+	}
+
+	/**
+	 * Parses a multi-location response in one pass. Open-Meteo answers with an
+	 * array of forecast objects, one per requested coordinate, or a plain object
+	 * when only one was requested.
+	 *
+	 * @param in     The response body.
+	 * @param cities The requested locations, in request order.
+	 * @return One WeatherData per city, in the same order.
+	 * @throws IOException If the stream fails, the JSON is malformed or the
+	 *                     result count does not match.
+	 */
+	public static List<WeatherData> parseBatch(InputStream in, List<WeatherService.CityResult> cities)
+			throws IOException {
+		JsonReader reader = new JsonReader(in);
+		List<WeatherData> out = new ArrayList<>(cities.size());
+		boolean array = reader.peek() == JsonReader.Token.BEGIN_ARRAY;
+		if (array)
+			reader.beginArray();
+		do {
+			if (out.size() == cities.size())
+				throw new IOException("More forecasts than requested locations");
+			WeatherService.CityResult c = cities.get(out.size());
+			ForecastParser p = new ForecastParser(reader);
+			p.readRoot();
+			out.add(p.build(c.getName(), c.getCountry()));
+		} while (array && reader.hasNext());
+		if (array)
+			reader.endArray();
+
+		if (out.size() != cities.size())
+			throw new IOException("Expected " + cities.size() + " forecasts but got " + out.size());
+		return out;
+	}
+
+	private void readRoot() throws IOException {
+		boolean hasCurrent = false, hasHourly = false, hasDaily = false;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case "timezone" -> timezone = reader.nextString();
+			case "utc_offset_seconds" -> utcOffset = reader.nextInt(0);
+			case "current" -> {
+				readCurrent();
+				hasCurrent = true;
+			}
+			case "hourly" -> {
+				readHourly();
+				hasHourly = true;
+			}
+			case "daily" -> {
+				readDaily();
+				hasDaily = true;
+			}
+			case "error" -> throw new IOException("Forecast API error");
+			default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+
+		if (!hasCurrent || !hasHourly || !hasDaily || timezone == null)
+			throw new IOException("Incomplete forecast response");
+	}
+
+	private void readCurrent() throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case "temperature_2m" -> curTemp = reader.nextDouble(0.0);
+			case "relative_humidity_2m" -> curHumidity = reader.nextDouble(0.0);
+			case "wind_speed_10m" -> curWind = reader.nextDouble(0.0);
+			case "weather_code" -> curCode = reader.nextInt(0);
+			default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private void readHourly() throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case "time" -> hTime = readTimes(false);
+			case "temperature_2m" -> hTemp = readDoubles();
+			case "weather_code" -> hCode = readInts();
+			case "precipitation_probability" -> hRain = readInts();
+			case "wind_speed_10m" -> hWind = readDoubles();
+			default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private void readDaily() throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+			case "time" -> dTime = readTimes(true);
+			case "temperature_2m_max" -> dMax = readDoubles();
+			case "temperature_2m_min" -> dMin = readDoubles();
+			case "weather_code" -> dCode = readInts();
+			case "uv_index_max" -> dUv = readDoubles();
+			case "precipitation_probability_max" -> dPrecip = readInts();
+			case "wind_speed_10m_max" -> dWind = readDoubles();
+			case "sunrise" -> dSunrise = readTimes(false);
+			case "sunset" -> dSunset = readTimes(false);
+			default -> reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	// -- Array readers --
+
+	private double[] readDoubles() throws IOException {
+		double[] out = new double[64];
+		int n = 0;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (n == out.length)
+				out = Arrays.copyOf(out, n * 2);
+			out[n++] = reader.nextDouble(0.0);
+		}
+		reader.endArray();
+		return Arrays.copyOf(out, n);
+	}
+
+	private int[] readInts() throws IOException {
+		int[] out = new int[64];
+		int n = 0;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (n == out.length)
+				out = Arrays.copyOf(out, n * 2);
+			out[n++] = reader.nextInt(0);
+		}
+		reader.endArray();
+		return Arrays.copyOf(out, n);
+	}
+
+	/**
+	 * Reads an array of ISO local dates or date-times without allocating a String
+	 * per element.
+	 *
+	 * @param days true to return epoch days, false for epoch seconds.
+	 */
+	private long[] readTimes(boolean days) throws IOException {
+		long[] out = new long[64];
+		int n = 0;
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (n == out.length)
+				out = Arrays.copyOf(out, n * 2);
+			int len = reader.nextChars(chars);
+			if (len < 10)
+				throw new IOException("Malformed forecast time");
+			long day = LocalDate.of(num(0, 4), num(5, 2), num(8, 2)).toEpochDay();
+			if (days) {
+				out[n++] = day;
+			} else {
+				int secs = len >= 16 ? num(11, 2) * 3600 + num(14, 2) * 60 : 0;
+				out[n++] = day * 86400 + secs;
+			}
+		}
+		reader.endArray();
+		return Arrays.copyOf(out, n);
+	}
+
+	private int num(int off, int len) {
+		int v = 0;
+		for (int i = off; i < off + len; i++)
+			v = v * 10 + (chars[i] - '0');
+		return v;
+	}
+
+	// -- Model assembly --
+
+	private WeatherData build(String city, String country) {
+		WeatherData data = new WeatherData();
+		data.setBasicInfo(city, country, timezone, utcOffset);
+		data.setFetchedAt(System.currentTimeMillis());
+		data.setCurrentData(curTemp, curHumidity, curWind, curCode);
+
+		data.setExtraData(at(dUv, 1), at(dPrecip, 1), formatTime(dSunrise, 1), formatTime(dSunset, 1),
+				at(dMax, 0) // Past day 0 is yesterday
+		);
+
+		// Local wall-clock times become epoch seconds by the zone's rules: the
+		// response's offset only holds until the next DST change
+		ZoneRules rules = WeatherData.rulesOf(timezone, utcOffset);
+		for (int i = 0; i < hTime.length; i++)
+			hTime[i] = toEpoch(rules, hTime[i]);
+		int hours = hTime.length;
+		data.setHourly(hTime, fit(hTemp, hours), bytes(hCode, hours), bytes(hRain, hours), fit(hWind, hours));
+
+		// Daily columns are truncated to the shorter of time and max, as before
+		int days = Math.min(dTime.length, dMax.length);
+		long[] dayStart = new long[days];
+		for (int i = 0; i < days; i++)
+			dayStart[i] = toEpoch(rules, dTime[i] * 86400);
+		data.setDaily(dayStart, fit(dMax, days), fit(dMin, days), fit(dWind, days), bytes(dCode, days),
+				bytes(dPrecip, days));
+		return data;
+	}
+
+	/**
+	 * @param local Local wall-clock seconds since the epoch.
+	 * @return The epoch second of that local time. A time skipped by a DST
+	 *         change is read with the offset before it.
+	 */
+	private static long toEpoch(ZoneRules rules, long local) {
+		ZoneOffset offset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH)
+				: rules.getOffset(LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC));
+		return local - offset.getTotalSeconds();
+	}
+
+	private static double[] fit(double[] a, int n) {
+		return a.length == n ? a : Arrays.copyOf(a, n);
+	}
+
+	/**
+	 * Narrows codes and percentages (both well below 128) to bytes.
+	 */
+	private static byte[] bytes(int[] a, int n) {
+		byte[] out = new byte[n];
+		for (int i = 0; i < Math.min(n, a.length); i++)
+			out[i] = (byte) a[i];
+		return out;
+	}
+
+	private static double at(double[] a, int i) {
+		return i < a.length ? a[i] : 0.0;
+	}
+
+	private static int at(int[] a, int i) {
+		return i < a.length ? a[i] : 0;
+	}
+
+	private static String formatTime(long[] a, int i) {
+		if (i >= a.length)
+			throw new IllegalStateException("Missing sunrise/sunset for today");
+		return LocalDateTime.ofEpochSecond(a[i], 0, ZoneOffset.UTC).format(TIME_FMT);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+package clymate.backend;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Persists the last displayed forecast in a compact binary file so the next
+ * launch can paint it before any network call completes.
+ *
+ * <p>
+ * Layout (big-endian): magic, version, scalar fields, then each forecast
+ * column written contiguously. A typical 16-day snapshot is about 11 KB and
+ * is read with a single file read.
+ *
+ * @author Malith Dissanayake
+ */
+public final class ForecastSnapshot {
+
+	private static final int MAGIC = 0x434C594D; // "CLYM"
+	// 2 added the timezone; version 1 files are still read
+	private static final short VERSION = 2;
+
+	/** Default snapshot location in the user's home directory. */
+	public static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".clymate",
+			"last-forecast.bin");
+
+	private ForecastSnapshot() {
+	}
+
+	/**
+	 * Loads the snapshot from {@link #DEFAULT_PATH}.
+	 *
+	 * @return The stored forecast, or null if there is none or it is unreadable.
+	 */
+	public static WeatherData load() {
+		return load(DEFAULT_PATH);
+	}
+
+	/**
+	 * Loads a snapshot file.
+	 *
+	 * @return The stored forecast, or null if there is none or it is unreadable.
+	 */
+	public static WeatherData load(Path file) {
+		try {
+			return decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+		} catch (NoSuchFileException e) {
+			return null; // First launch
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Ignoring unreadable forecast snapshot: " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the snapshot to {@link #DEFAULT_PATH}. Intended for background
+	 * threads; failures are logged, not thrown.
+	 */
+	public static void save(WeatherData d) {
+		try {
+			save(d, DEFAULT_PATH);
+		} catch (IOException e) {
+			System.err.println("Could not save forecast snapshot: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes a snapshot file atomically, so a crash mid-write never leaves a
+	 * truncated file behind.
+	 */
+	public static void save(WeatherData d, Path file) throws IOException {
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(tmp, encode(d));
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	static byte[] encode(WeatherData d) {
+		byte[][] strings = { utf8(d.getCityName()), utf8(d.getCountry()), utf8(d.getSunrise()),
+				utf8(d.getSunset()), utf8(d.getTimezone()) };
+		int hours = d.getHourlyCount();
+		int days = d.getDailyCount();
+
+		int size = 4 + 2 + 8 + 8 * 2 + 4 + 8 * 3 + 4 + 8 + 4 + 8;
+		for (byte[] s : strings)
+			size += 2 + s.length;
+		size += 4 + hours * (8 + 8 + 8 + 1 + 1);
+		size += 4 + days * (8 + 8 + 8 + 8 + 1 + 1);
+
+		ByteBuffer b = ByteBuffer.allocate(size);
+		b.putInt(MAGIC).putShort(VERSION);
+		b.putLong(d.getFetchedAt());
+		b.putDouble(d.getLatitude()).putDouble(d.getLongitude());
+		b.putInt(d.getUtcOffset());
+		b.putDouble(d.getCurrentTemp()).putDouble(d.getHumidity()).putDouble(d.getWindSpeed());
+		b.putInt(d.getWeatherCode());
+		b.putDouble(d.getUvIndex()).putInt(d.getPrecipProb()).putDouble(d.getYesterdayTemp());
+		for (byte[] s : strings)
+			b.putShort((short) s.length).put(s);
+
+		b.putInt(hours);
+		for (int i = 0; i < hours; i++)
+			b.putLong(d.getHourlyTime(i));
+		for (int i = 0; i < hours; i++)
+			b.putDouble(d.getHourlyTemp(i));
+		for (int i = 0; i < hours; i++)
+			b.putDouble(d.getHourlyWind(i));
+		for (int i = 0; i < hours; i++)
+			b.put((byte) d.getHourlyCode(i));
+		for (int i = 0; i < hours; i++)
+			b.put((byte) d.getHourlyRain(i));
+
+		b.putInt(days);
+		for (int i = 0; i < days; i++)
+			b.putLong(d.getDailyTime(i));
+		for (int i = 0; i < days; i++)
+			b.putDouble(d.getDailyMax(i));
+		for (int i = 0; i < days; i++)
+			b.putDouble(d.getDailyMin(i));
+		for (int i = 0; i < days; i++)
+			b.putDouble(d.getDailyWind(i));
+		for (int i = 0; i < days; i++)
+			b.put((byte) d.getDailyCode(i));
+		for (int i = 0; i < days; i++)
+			b.put((byte) d.getDailyPrecip(i));
+		return b.array();
+	}
+
+	static WeatherData decode(ByteBuffer b) throws IOException {
+		try {
+			short version;
+			if (b.getInt() != MAGIC || (version = b.getShort()) < 1 || version > VERSION)
+				throw new IOException("Unknown snapshot format");
+
+			WeatherData d = new WeatherData();
+			d.setFetchedAt(b.getLong());
+			d.setCoordinates(b.getDouble(), b.getDouble());
+			int offset = b.getInt();
+			double temp = b.getDouble(), humidity = b.getDouble(), wind = b.getDouble();
+			d.setCurrentData(temp, humidity, wind, b.getInt());
+			double uv = b.getDouble();
+			int precip = b.getInt();
+			double yesterday = b.getDouble();
+			String city = str(b), country = str(b), sunrise = str(b), sunset = str(b);
+			String zone = version >= 2 ? str(b) : "";
+			d.setBasicInfo(city, country, zone.isEmpty() ? null : zone, offset);
+			d.setExtraData(uv, precip, sunrise, sunset, yesterday);
+
+			int hours = b.getInt();
+			if (hours < 0 || hours > b.remaining() / 26)
+				throw new IOException("Corrupt snapshot");
+			long[] hTime = new long[hours];
+			double[] hTemp = new double[hours], hWind = new double[hours];
+			byte[] hCode = new byte[hours], hRain = new byte[hours];
+			b.asLongBuffer().get(hTime);
+			b.position(b.position() + hours * 8);
+			b.asDoubleBuffer().get(hTemp);
+			b.position(b.position() + hours * 8);
+			b.asDoubleBuffer().get(hWind);
+			b.position(b.position() + hours * 8);
+			b.get(hCode).get(hRain);
+			d.setHourly(hTime, hTemp, hCode, hRain, hWind);
+
+			int days = b.getInt();
+			if (days < 0 || days > b.remaining() / 34)
+				throw new IOException("Corrupt snapshot");
+			long[] dTime = new long[days];
+			double[] dMax = new double[days], dMin = new double[days], dWind = new double[days];
+			byte[] dCode = new byte[days], dPrecip = new byte[days];
+			b.asLongBuffer().get(dTime);
+			b.position(b.position() + days * 8);
+			b.asDoubleBuffer().get(dMax);
+			b.position(b.position() + days * 8);
+			b.asDoubleBuffer().get(dMin);
+			b.position(b.position() + days * 8);
+			b.asDoubleBuffer().get(dWind);
+			b.position(b.position() + days * 8);
+			b.get(dCode).get(dPrecip);
+			d.setDaily(dTime, dMax, dMin, dWind, dCode, dPrecip);
+			return d;
+		} catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+			throw new IOException("Truncated snapshot", e);
+		}
+	}
+
+	private static byte[] utf8(String s) {
+		return (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String str(ByteBuffer b) {
+		byte[] s = new byte[b.getShort() & 0xFFFF];
+		b.get(s);
+		return new String(s, StandardCharsets.UTF_8);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,313 @@
+package clymate.backend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Offline city index backed by the bundled {@code resources/data/cities.tsv}.
+ * Names are folded to accent-free lower case ("Zürich" and "zurich" share a
+ * key) and stored in a trie whose nodes keep their most populous cities, so a
+ * prefix query costs one step per typed character.
+ *
+ * <p>
+ * The bundled file is a hand-picked list of about 340 capitals and large
+ * cities, not a full GeoNames extract. Smaller places are found only through
+ * the geocoding API, so offline they cannot be searched. A larger TSV in the
+ * same columns can replace the file without code changes.
+ *
+ * @author Malith Dissanayake
+ */
+public final class Gazetteer {
+
+	/** Cities kept per trie node for prefix suggestions. */
+	private static final int TOP_K = 8;
+
+	private static final Path DEFAULT_FILE = Path.of("resources", "data", "cities.tsv");
+
+	private static final class Node {
+		char[] keys = new char[0];
+		Node[] kids = new Node[0];
+		// Most populous cities in this subtree, descending
+		int[] top = new int[0];
+		// Cities whose name (or alternate name) ends exactly here
+		int[] exact = new int[0];
+
+		Node child(char c) {
+			int i = Arrays.binarySearch(keys, c);
+			return i >= 0 ? kids[i] : null;
+		}
+
+		Node childOrAdd(char c) {
+			int i = Arrays.binarySearch(keys, c);
+			if (i >= 0)
+				return kids[i];
+			i = -i - 1;
+			Node n = new Node();
+			char[] k = new char[keys.length + 1];
+			Node[] d = new Node[kids.length + 1];
+			System.arraycopy(keys, 0, k, 0, i);
+			System.arraycopy(kids, 0, d, 0, i);
+			k[i] = c;
+			d[i] = n;
+			System.arraycopy(keys, i, k, i + 1, keys.length - i);
+			System.arraycopy(kids, i, d, i + 1, kids.length - i);
+			keys = k;
+			kids = d;
+			return n;
+		}
+	}
+
+	private static final class Holder {
+		static final Gazetteer INSTANCE = load(DEFAULT_FILE);
+	}
+
+	// City columns, indexed by city id
+	private final List<String> names = new ArrayList<>();
+	private final List<String> regions = new ArrayList<>();
+	private final List<String> countries = new ArrayList<>();
+	private double[] lats = new double[256];
+	private double[] lons = new double[256];
+	private int[] pops = new int[256];
+
+	private final Node root = new Node();
+
+	private Gazetteer() {
+	}
+
+	/**
+	 * @return The shared index of the bundled gazetteer, loaded on first use.
+	 */
+	public static Gazetteer get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Loads a gazetteer file. Lines are tab-separated: name, admin1, country,
+	 * latitude, longitude, population and optional comma-separated alternate
+	 * names. Lines starting with '#' are comments.
+	 *
+	 * @return The index; empty if the file is missing or unreadable.
+	 */
+	public static Gazetteer load(Path file) {
+		Gazetteer g = new Gazetteer();
+		try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = r.readLine()) != null) {
+				if (line.isEmpty() || line.charAt(0) == '#')
+					continue;
+				String[] f = line.split("\t", -1);
+				if (f.length < 6)
+					continue;
+				try {
+					g.add(f[0], f[1], f[2], Double.parseDouble(f[3]), Double.parseDouble(f[4]),
+							Integer.parseInt(f[5]), f.length > 6 ? f[6] : "");
+				} catch (NumberFormatException e) {
+					// Skip malformed rows
+				}
+			}
+		} catch (NoSuchFileException e) {
+			System.err.println("Gazetteer not found, city search is online only: " + file);
+		} catch (IOException e) {
+			System.err.println("Gazetteer unreadable: " + e.getMessage());
+		}
+		return g;
+	}
+
+	/** @return Number of cities in the index. */
+	public int size() {
+		return names.size();
+	}
+
+	/**
+	 * Finds cities whose name or alternate name matches the query exactly,
+	 * ignoring case and accents. Text after a comma narrows by region or
+	 * country prefix, e.g. "Paris, France".
+	 *
+	 * @param query The user's input.
+	 * @param limit Maximum results.
+	 * @return Matches, most populous first; empty on a miss.
+	 */
+	public List<WeatherService.CityResult> find(String query, int limit) {
+		String[] parts = query.split(",", 2);
+		String qualifier = parts.length > 1 ? normalize(parts[1]) : "";
+		Node n = walk(normalize(parts[0]));
+		if (n == null)
+			return List.of();
+		return collect(n.exact, qualifier, limit);
+	}
+
+	/**
+	 * Suggests cities whose name or alternate name starts with the query,
+	 * ignoring case and accents. Text after a comma narrows by region or
+	 * country prefix.
+	 *
+	 * @param query The (partial) user input.
+	 * @param limit Maximum results, at most {@value #TOP_K} without a qualifier.
+	 * @return Matches, most populous first.
+	 */
+	public List<WeatherService.CityResult> suggest(String query, int limit) {
+		String[] parts = query.split(",", 2);
+		String key = normalize(parts[0]);
+		if (key.isEmpty())
+			return List.of();
+		Node n = walk(key);
+		if (n == null)
+			return List.of();
+		if (parts.length == 1)
+			return collect(n.top, "", limit);
+
+		// A qualifier can filter out the precomputed top list, so gather the subtree
+		List<Integer> ids = new ArrayList<>();
+		gather(n, ids);
+		int[] all = ids.stream().distinct().sorted((a, b) -> Integer.compare(pops[b], pops[a]))
+				.mapToInt(Integer::intValue).toArray();
+		return collect(all, normalize(parts[1]), limit);
+	}
+
+	/**
+	 * Folds a name to its index key: accents removed, lower case, punctuation
+	 * turned into single spaces ("St. Louis" becomes "st louis").
+	 */
+	static String normalize(String s) {
+		String d = Normalizer.normalize(s, Normalizer.Form.NFKD);
+		StringBuilder sb = new StringBuilder(d.length());
+		boolean space = false;
+		for (int i = 0; i < d.length(); i++) {
+			char c = d.charAt(i);
+			if (Character.getType(c) == Character.NON_SPACING_MARK)
+				continue;
+			if (Character.isLetterOrDigit(c)) {
+				if (space && sb.length() > 0)
+					sb.append(' ');
+				space = false;
+				switch (Character.toLowerCase(c)) {
+				// Letters with no canonical decomposition
+				case 'ł' -> sb.append('l');
+				case 'ø' -> sb.append('o');
+				case 'đ' -> sb.append('d');
+				case 'ı' -> sb.append('i');
+				case 'æ' -> sb.append("ae");
+				case 'œ' -> sb.append("oe");
+				case 'ß' -> sb.append("ss");
+				default -> sb.append(Character.toLowerCase(c));
+				}
+			} else if (c != '\'') {
+				space = true;
+			}
+		}
+		return sb.toString();
+	}
+
+	// -- Index construction --
+
+	private void add(String name, String region, String country, double lat, double lon, int pop, String alts) {
+		int id = names.size();
+		names.add(name);
+		regions.add(region);
+		countries.add(country);
+		if (id == lats.length) {
+			lats = Arrays.copyOf(lats, id * 2);
+			lons = Arrays.copyOf(lons, id * 2);
+			pops = Arrays.copyOf(pops, id * 2);
+		}
+		lats[id] = lat;
+		lons[id] = lon;
+		pops[id] = pop;
+
+		insert(normalize(name), id);
+		for (String alt : alts.split(","))
+			if (!alt.isBlank())
+				insert(normalize(alt), id);
+	}
+
+	private void insert(String key, int id) {
+		if (key.isEmpty())
+			return;
+		Node n = root;
+		offerTop(n, id);
+		for (int i = 0; i < key.length(); i++) {
+			n = n.childOrAdd(key.charAt(i));
+			offerTop(n, id);
+		}
+		if (!contains(n.exact, id)) {
+			n.exact = Arrays.copyOf(n.exact, n.exact.length + 1);
+			n.exact[n.exact.length - 1] = id;
+			sortByPopulation(n.exact);
+		}
+	}
+
+	private void offerTop(Node n, int id) {
+		if (contains(n.top, id))
+			return;
+		int[] t = n.top;
+		int pos = 0;
+		while (pos < t.length && pops[t[pos]] >= pops[id])
+			pos++;
+		if (pos >= TOP_K)
+			return;
+		int len = Math.min(t.length + 1, TOP_K);
+		int[] out = new int[len];
+		System.arraycopy(t, 0, out, 0, pos);
+		out[pos] = id;
+		System.arraycopy(t, pos, out, pos + 1, len - pos - 1);
+		n.top = out;
+	}
+
+	// -- Queries --
+
+	private Node walk(String key) {
+		Node n = root;
+		for (int i = 0; i < key.length() && n != null; i++)
+			n = n.child(key.charAt(i));
+		return n;
+	}
+
+	private void gather(Node n, List<Integer> out) {
+		for (int id : n.exact)
+			out.add(id);
+		for (Node k : n.kids)
+			gather(k, out);
+	}
+
+	private List<WeatherService.CityResult> collect(int[] ids, String qualifier, int limit) {
+		List<WeatherService.CityResult> out = new ArrayList<>(Math.min(limit, ids.length));
+		for (int id : ids) {
+			if (out.size() == limit)
+				break;
+			if (!qualifier.isEmpty() && !normalize(countries.get(id)).startsWith(qualifier)
+					&& !normalize(regions.get(id)).startsWith(qualifier))
+				continue;
+			out.add(new WeatherService.CityResult(names.get(id), regions.get(id), countries.get(id), lats[id],
+					lons[id]));
+		}
+		return out;
+	}
+
+	private void sortByPopulation(int[] ids) {
+		// Exact-match lists hold a handful of ids: insertion sort, descending population
+		for (int i = 1; i < ids.length; i++) {
+			int v = ids[i];
+			int j = i - 1;
+			while (j >= 0 && pops[ids[j]] < pops[v]) {
+				ids[j + 1] = ids[j];
+				j--;
+			}
+			ids[j + 1] = v;
+		}
+	}
+
+	private static boolean contains(int[] a, int v) {
+		for (int x : a)
+			if (x == v)
+				return true;
+		return false;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,365 @@
+package clymate.backend;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Search history kept as an append-only binary log. Every search appends one
+ * small record; the in-memory index, keyed by city, holds only the latest
+ * search of each and answers every read. Writes are handed to a background
+ * thread and batched (write-behind), so adding a search never touches the
+ * disk on the caller's thread. When superseded records outnumber live ones
+ * the log is compacted, rewritten with one record per city.
+ *
+ * <p>
+ * Layout (big-endian): magic and version, then records of
+ * {@code [length][time][lat][lon][name][region][country][crc32]}, strings as
+ * length-prefixed UTF-8. A torn record at the end, e.g. from a crash
+ * mid-append, fails its checksum and is cut off on the next load.
+ *
+ * @author Malith Dissanayake
+ */
+public final class HistoryStore {
+
+	/**
+	 * One search: where and when.
+	 *
+	 * @param time Epoch milliseconds of the search.
+	 */
+	public record Entry(String name, String region, String country, double lat, double lon, long time) {
+
+		/** @return The label shown in lists, also the key a city is known by. */
+		public String displayName() {
+			return name + (region.isEmpty() ? "" : ", " + region) + ", " + country;
+		}
+
+		public WeatherService.CityResult toCityResult() {
+			return new WeatherService.CityResult(name, region, country, lat, lon);
+		}
+	}
+
+	private static final int MAGIC = 0x434C5948; // "CLYH"
+	private static final short VERSION = 1;
+	private static final int HEADER = 6;
+	private static final int MAX_RECORD = 3 * 0xFFFF + 8 * 3 + 6;
+
+	/** Default log location in the user's home directory. */
+	public static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".clymate", "history.log");
+
+	// Appends are batched for this long before they are written
+	private static final long WRITE_BEHIND_MS = 250;
+	// No compaction below this many records, however many are stale
+	private static final int COMPACT_MIN_RECORDS = 1024;
+
+	private static final class Holder {
+		static final HistoryStore INSTANCE = open(DEFAULT_PATH,
+				Integer.getInteger("clymate.history.maxEntries", 50_000));
+	}
+
+	private final Path file;
+	private final int maxEntries;
+
+	// Latest search per city, oldest first. Guarded by this
+	private final LinkedHashMap<String, Entry> entries;
+	// Records in the log file, live or superseded, once pending ones are written
+	private int logRecords;
+	// True until the file has a valid header: the first write starts it afresh
+	private boolean fresh = true;
+	private final List<byte[]> pending = new ArrayList<>();
+	private boolean flushScheduled;
+
+	private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "clymate-history-writer");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private HistoryStore(Path file, int maxEntries) {
+		this.file = file;
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<>() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > HistoryStore.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * @return The history in {@link #DEFAULT_PATH}, loaded on first use.
+	 */
+	public static HistoryStore get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Loads a history log, creating it on the first write if missing. Pending
+	 * writes are flushed when the JVM shuts down.
+	 *
+	 * @param maxEntries Cities kept; the longest unsearched is dropped beyond
+	 *                   this.
+	 */
+	public static HistoryStore open(Path file, int maxEntries) {
+		HistoryStore s = new HistoryStore(file, maxEntries);
+		s.load();
+		Runtime.getRuntime().addShutdownHook(new Thread(s::close, "clymate-history-close"));
+		return s;
+	}
+
+	/**
+	 * Records a search. Returns at once; the record is written in the
+	 * background.
+	 *
+	 * @param time Epoch milliseconds of the search.
+	 */
+	public void add(WeatherService.CityResult city, long time) {
+		add(new Entry(city.getName(), city.getRegion(), city.getCountry(), city.getLat(), city.getLon(), time));
+	}
+
+	/**
+	 * Records a search, replacing any earlier one for the same city.
+	 */
+	public void add(Entry e) {
+		byte[] record = encode(e);
+		synchronized (this) {
+			put(e);
+			pending.add(record);
+			if (flushScheduled)
+				return;
+			flushScheduled = true;
+		}
+		writer.schedule(this::flush, WRITE_BEHIND_MS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param limit Maximum entries returned.
+	 * @return The most recent searches, newest first, one per city.
+	 */
+	public synchronized List<Entry> recent(int limit) {
+		List<Entry> out = new ArrayList<>(Math.min(limit, entries.size()));
+		for (Entry e : entries.sequencedValues().reversed()) {
+			if (out.size() == limit)
+				break;
+			out.add(e);
+		}
+		return out;
+	}
+
+	/** @return Cities in the history. */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/** @return Whether nothing has been searched yet. */
+	public synchronized boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * Writes pending records and waits for them to reach the file.
+	 *
+	 * @return Whether every record added so far is in the file.
+	 */
+	public boolean sync() {
+		try {
+			return writer.submit(this::flush).get(2, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			System.err.println("Search history not fully saved: " + e);
+			return false;
+		}
+	}
+
+	/**
+	 * Writes pending records and waits for them to reach the file.
+	 */
+	public void close() {
+		sync();
+	}
+
+	private void put(Entry e) {
+		String key = e.displayName();
+		entries.remove(key); // Re-insert at the newest end
+		entries.put(key, e);
+	}
+
+	// -- Disk, on the writer thread (and in open) only --
+
+	private void load() {
+		ByteBuffer b;
+		try {
+			b = ByteBuffer.wrap(Files.readAllBytes(file));
+		} catch (NoSuchFileException e) {
+			return; // Nothing searched yet
+		} catch (IOException e) {
+			System.err.println("Search history unreadable: " + e.getMessage());
+			return;
+		}
+
+		int good;
+		try {
+			if (b.getInt() != MAGIC || b.getShort() != VERSION) {
+				System.err.println("Replacing search history in an unknown format: " + file);
+				return;
+			}
+			fresh = false;
+			good = b.position();
+			Entry e;
+			while ((e = decode(b)) != null) {
+				put(e);
+				logRecords++;
+				good = b.position();
+			}
+		} catch (BufferUnderflowException e) {
+			return; // Not even a whole header; rewritten on the first add
+		}
+
+		if (good < b.capacity()) {
+			// Drop the torn tail so new records do not land after garbage
+			try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				ch.truncate(good);
+			} catch (IOException ex) {
+				System.err.println("Could not repair search history: " + ex.getMessage());
+			}
+		}
+	}
+
+	private boolean flush() {
+		List<byte[]> batch;
+		synchronized (this) {
+			flushScheduled = false;
+			if (pending.isEmpty())
+				return true;
+			batch = new ArrayList<>(pending);
+			pending.clear();
+		}
+		try {
+			int size = fresh ? HEADER : 0;
+			for (byte[] r : batch)
+				size += r.length;
+			ByteBuffer b = ByteBuffer.allocate(size);
+			if (fresh) {
+				Files.createDirectories(file.toAbsolutePath().getParent());
+				b.putInt(MAGIC).putShort(VERSION);
+			}
+			for (byte[] r : batch)
+				b.put(r);
+			Files.write(file, b.array(), StandardOpenOption.CREATE,
+					fresh ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND);
+			fresh = false;
+			logRecords += batch.size();
+		} catch (IOException e) {
+			System.err.println("Could not save search history: " + e.getMessage());
+			return false;
+		}
+		compactIfWasteful();
+		return true;
+	}
+
+	private void compactIfWasteful() {
+		List<Entry> live;
+		synchronized (this) {
+			if (logRecords < COMPACT_MIN_RECORDS || logRecords < 2 * entries.size())
+				return;
+			live = new ArrayList<>(entries.values());
+		}
+		try {
+			// Anything added meanwhile is still pending and is appended after the swap
+			List<byte[]> records = new ArrayList<>(live.size());
+			int size = HEADER;
+			for (Entry e : live) {
+				byte[] r = encode(e);
+				records.add(r);
+				size += r.length;
+			}
+			ByteBuffer b = ByteBuffer.allocate(size);
+			b.putInt(MAGIC).putShort(VERSION);
+			for (byte[] r : records)
+				b.put(r);
+			Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			Files.write(tmp, b.array());
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			fresh = false;
+			logRecords = live.size();
+		} catch (IOException e) {
+			System.err.println("Could not compact search history: " + e.getMessage());
+		}
+	}
+
+	// -- Record codec --
+
+	static byte[] encode(Entry e) {
+		byte[] name = utf8(e.name()), region = utf8(e.region()), country = utf8(e.country());
+		int payload = 8 + 8 + 8 + 2 + name.length + 2 + region.length + 2 + country.length;
+		ByteBuffer b = ByteBuffer.allocate(4 + payload + 4);
+		b.putInt(payload);
+		b.putLong(e.time()).putDouble(e.lat()).putDouble(e.lon());
+		b.putShort((short) name.length).put(name);
+		b.putShort((short) region.length).put(region);
+		b.putShort((short) country.length).put(country);
+		CRC32 crc = new CRC32();
+		crc.update(b.array(), 4, payload);
+		b.putInt((int) crc.getValue());
+		return b.array();
+	}
+
+	/**
+	 * Reads the next record.
+	 *
+	 * @return The entry, or null at the end of the log or at a torn or corrupt
+	 *         record (the buffer is then left where that record starts).
+	 */
+	static Entry decode(ByteBuffer b) {
+		int start = b.position();
+		if (b.remaining() < 4)
+			return null;
+		int payload = b.getInt();
+		if (payload < 30 || payload > MAX_RECORD || b.remaining() < payload + 4) {
+			b.position(start);
+			return null;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(b.array(), b.arrayOffset() + b.position(), payload);
+		if (b.getInt(b.position() + payload) != (int) crc.getValue()) {
+			b.position(start);
+			return null;
+		}
+		try {
+			long time = b.getLong();
+			double lat = b.getDouble(), lon = b.getDouble();
+			Entry e = new Entry(str(b), str(b), str(b), lat, lon, time);
+			b.getInt(); // Checksum, verified above
+			return e;
+		} catch (BufferUnderflowException e) {
+			b.position(start);
+			return null;
+		}
+	}
+
+	private static byte[] utf8(String s) {
+		return (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String str(ByteBuffer b) {
+		byte[] s = new byte[b.getShort() & 0xFFFF];
+		b.get(s);
+		return new String(s, StandardCharsets.UTF_8);
+	}
+}
\ No newline at end of file
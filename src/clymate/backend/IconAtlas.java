@@ -0,0 +1,236 @@
+package clymate.backend;
+
+import com.formdev.flatlaf.extras.FlatSVGIcon;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.Icon;
+
+/**
+ * Shared raster atlas for SVG icons. Each (icon, size) is rendered through
+ * JSVG once, at the display's scale factor, into a packed page image; painting
+ * an icon afterwards is a single 1:1 sub-image blit. When the display scale
+ * changes (e.g. the window moves to another monitor) or the pages outgrow
+ * their memory budget, the atlas starts over and icons re-rasterize on their
+ * next paint.
+ *
+ * @author Malith Dissanayake
+ */
+public final class IconAtlas {
+
+	/** Page edge in device pixels. */
+	private static final int PAGE_SIZE = 512;
+
+	// One pixel of clear space between slots so filtering never bleeds
+	private static final int GAP = 1;
+
+	private static final AffineTransform IDENTITY = new AffineTransform();
+
+	private static final IconAtlas INSTANCE = new IconAtlas(AssetCache.megabytes("clymate.cache.icons.mb", 4));
+
+	/** A rasterized icon's place in the atlas. */
+	private static final class Slot {
+		final BufferedImage page;
+		final int x, y, w, h;
+		final double scale;
+		final int generation;
+
+		Slot(BufferedImage page, int x, int y, int w, int h, double scale, int generation) {
+			this.page = page;
+			this.x = x;
+			this.y = y;
+			this.w = w;
+			this.h = h;
+			this.scale = scale;
+			this.generation = generation;
+		}
+	}
+
+	/**
+	 * Icon backed by the atlas. Holds no pixels itself; the slot is looked up on
+	 * first paint and again whenever the atlas starts over.
+	 */
+	static final class AtlasIcon implements Icon {
+		private final String key;
+		private final FlatSVGIcon svg;
+		private Slot slot;
+
+		AtlasIcon(String key, FlatSVGIcon svg) {
+			this.key = key;
+			this.svg = svg;
+		}
+
+		@Override
+		public void paintIcon(Component c, Graphics g, int x, int y) {
+			Graphics2D g2 = (Graphics2D) g;
+			AffineTransform t = g2.getTransform();
+			double scale = t.getScaleX();
+			if (t.getShearX() != 0 || t.getShearY() != 0 || t.getScaleY() != scale || scale <= 0) {
+				svg.paintIcon(c, g, x, y); // Rotated or skewed: draw the vector
+				return;
+			}
+
+			Slot s = slot;
+			if (s == null || s.generation != INSTANCE.generation || s.scale != scale)
+				s = slot = INSTANCE.slot(key, svg, scale);
+
+			// Blit in device space so the slot maps 1:1 onto screen pixels
+			int dx = (int) Math.round(t.getTranslateX() + x * scale);
+			int dy = (int) Math.round(t.getTranslateY() + y * scale);
+			g2.setTransform(IDENTITY);
+			g2.drawImage(s.page, dx, dy, dx + s.w, dy + s.h, s.x, s.y, s.x + s.w, s.y + s.h, null);
+			g2.setTransform(t);
+		}
+
+		@Override
+		public int getIconWidth() {
+			return svg.getIconWidth();
+		}
+
+		@Override
+		public int getIconHeight() {
+			return svg.getIconHeight();
+		}
+	}
+
+	private final long maxBytes;
+
+	private final Map<String, Slot> slots = new HashMap<>();
+	private final List<BufferedImage> pages = new ArrayList<>();
+	private double scale = 1;
+	private volatile int generation;
+
+	// Shelf packer: the page being filled and the position on it
+	private BufferedImage shelfPage;
+	private int shelfX, shelfY, shelfHeight;
+
+	private long rasterized;
+
+	private IconAtlas(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/** @return The shared atlas. */
+	public static IconAtlas get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Wraps an SVG icon so it paints from the atlas.
+	 *
+	 * @param key Unique per SVG file and size.
+	 */
+	static Icon icon(String key, FlatSVGIcon svg) {
+		return new AtlasIcon(key, svg);
+	}
+
+	/** @return Number of page images currently allocated. */
+	public synchronized int getPageCount() {
+		return pages.size();
+	}
+
+	/** @return Bytes held by the page images. */
+	public synchronized long getBytes() {
+		long b = 0;
+		for (BufferedImage p : pages)
+			b += 4L * p.getWidth() * p.getHeight();
+		return b;
+	}
+
+	/** @return How many times an icon has been rendered through JSVG. */
+	public synchronized long getRasterizedCount() {
+		return rasterized;
+	}
+
+	@Override
+	public String toString() {
+		return "IconAtlas[pages=" + getPageCount() + ", " + getBytes() / 1024 + " KB, rasterized="
+				+ getRasterizedCount() + "]";
+	}
+
+	private synchronized Slot slot(String key, FlatSVGIcon svg, double scale) {
+		if (scale != this.scale) {
+			reset();
+			this.scale = scale;
+		}
+		Slot s = slots.get(key);
+		if (s != null)
+			return s;
+
+		int w = Math.max(1, (int) Math.ceil(svg.getIconWidth() * scale));
+		int h = Math.max(1, (int) Math.ceil(svg.getIconHeight() * scale));
+		s = allocate(w, h);
+		if (s == null) {
+			// Over budget: start over rather than grow without bound
+			reset();
+			s = allocate(w, h);
+		}
+
+		Graphics2D g = s.page.createGraphics();
+		try {
+			g.translate(s.x, s.y);
+			g.scale(scale, scale);
+			svg.paintIcon(null, g, 0, 0);
+		} finally {
+			g.dispose();
+		}
+		rasterized++;
+		slots.put(key, s);
+		return s;
+	}
+
+	/**
+	 * Finds room for a w x h slot, opening a new shelf or page as needed.
+	 *
+	 * @return The slot, or null if a new page would exceed the budget.
+	 */
+	private Slot allocate(int w, int h) {
+		if (w > PAGE_SIZE || h > PAGE_SIZE)
+			return newPage(w, h, w, h); // Oversized icon gets a page to itself
+
+		if (shelfPage != null) {
+			if (shelfX + w > PAGE_SIZE) {
+				shelfY += shelfHeight + GAP;
+				shelfX = 0;
+				shelfHeight = 0;
+			}
+			if (shelfY + h <= PAGE_SIZE) {
+				Slot s = new Slot(shelfPage, shelfX, shelfY, w, h, scale, generation);
+				shelfX += w + GAP;
+				shelfHeight = Math.max(shelfHeight, h);
+				return s;
+			}
+		}
+
+		Slot s = newPage(PAGE_SIZE, PAGE_SIZE, w, h);
+		if (s != null) {
+			shelfPage = s.page;
+			shelfX = w + GAP;
+			shelfY = 0;
+			shelfHeight = h;
+		}
+		return s;
+	}
+
+	private Slot newPage(int pw, int ph, int w, int h) {
+		if (!pages.isEmpty() && getBytes() + 4L * pw * ph > maxBytes)
+			return null;
+		BufferedImage page = new BufferedImage(pw, ph, BufferedImage.TYPE_INT_ARGB_PRE);
+		pages.add(page);
+		return new Slot(page, 0, 0, w, h, scale, generation);
+	}
+
+	private void reset() {
+		slots.clear();
+		pages.clear();
+		shelfPage = null;
+		shelfX = shelfY = shelfHeight = 0;
+		generation++;
+	}
+}
\ No newline at end of file
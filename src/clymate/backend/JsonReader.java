@@ -0,0 +1,422 @@
+package clymate.backend;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal pull-style JSON reader. Tokens are read straight off the underlying
+ * stream so large API responses can be consumed into primitive arrays without
+ * building an intermediate object tree.
+ *
+ * @author Malith Dissanayake
+ */
+final class JsonReader implements Closeable {
+
+	/** The kinds of token a caller can {@link #peek()} at. */
+	enum Token {
+		BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END
+	}
+
+	// Exact powers of ten usable by the fast double path (Clinger's algorithm)
+	private static final double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+			1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final Reader in;
+	private final char[] buf = new char[8192];
+	private int pos;
+	private int limit;
+
+	// Scratch space for numbers and object names
+	private char[] scratch = new char[64];
+
+	// Nesting stack: true when the enclosing container is an object
+	private boolean[] objStack = new boolean[32];
+	private int depth;
+	// Whether the next token in the current container needs a preceding comma
+	private boolean needComma;
+	// Whether an object value (as opposed to a name) is expected next
+	private boolean expectValue;
+
+	private Token peeked;
+
+	JsonReader(InputStream in) {
+		this(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	JsonReader(Reader in) {
+		this.in = in;
+	}
+
+	/**
+	 * Looks at the type of the next token without consuming it.
+	 */
+	Token peek() throws IOException {
+		if (peeked == null)
+			peeked = readToken();
+		return peeked;
+	}
+
+	void beginObject() throws IOException {
+		expect(Token.BEGIN_OBJECT);
+		push(true);
+	}
+
+	void endObject() throws IOException {
+		expect(Token.END_OBJECT);
+		pop();
+	}
+
+	void beginArray() throws IOException {
+		expect(Token.BEGIN_ARRAY);
+		push(false);
+	}
+
+	void endArray() throws IOException {
+		expect(Token.END_ARRAY);
+		pop();
+	}
+
+	/**
+	 * @return true while the current object or array has further elements.
+	 */
+	boolean hasNext() throws IOException {
+		Token t = peek();
+		return t != Token.END_OBJECT && t != Token.END_ARRAY && t != Token.END;
+	}
+
+	/**
+	 * Reads the next member name of the current object.
+	 */
+	String nextName() throws IOException {
+		expect(Token.NAME);
+		int len = readStringBody(null);
+		expectValue = true;
+		return new String(scratch, 0, len);
+	}
+
+	/**
+	 * Reads a string value, or returns null for a JSON null.
+	 */
+	String nextString() throws IOException {
+		Token t = peek();
+		if (t == Token.NULL) {
+			consumeLiteral();
+			return null;
+		}
+		if (t != Token.STRING)
+			throw syntax("Expected STRING but was " + t);
+		peeked = null;
+		int len = readStringBody(null);
+		return new String(scratch, 0, len);
+	}
+
+	/**
+	 * Reads a string value into the caller's buffer, avoiding a String
+	 * allocation. Characters beyond the buffer length are dropped.
+	 *
+	 * @return The full length of the string, or -1 for a JSON null.
+	 */
+	int nextChars(char[] dst) throws IOException {
+		Token t = peek();
+		if (t == Token.NULL) {
+			consumeLiteral();
+			return -1;
+		}
+		if (t != Token.STRING)
+			throw syntax("Expected STRING but was " + t);
+		peeked = null;
+		return readStringBody(dst);
+	}
+
+	/**
+	 * Reads a numeric value.
+	 *
+	 * @param nullValue Value returned when the token is a JSON null.
+	 */
+	double nextDouble(double nullValue) throws IOException {
+		Token t = peek();
+		if (t == Token.NULL) {
+			consumeLiteral();
+			return nullValue;
+		}
+		if (t != Token.NUMBER)
+			throw syntax("Expected NUMBER but was " + t);
+		peeked = null;
+		return readNumber();
+	}
+
+	/**
+	 * Reads a numeric value truncated to an int.
+	 *
+	 * @param nullValue Value returned when the token is a JSON null.
+	 */
+	int nextInt(int nullValue) throws IOException {
+		Token t = peek();
+		if (t == Token.NULL) {
+			consumeLiteral();
+			return nullValue;
+		}
+		return (int) nextDouble(nullValue);
+	}
+
+	/**
+	 * Skips the next value, including any nested objects or arrays.
+	 */
+	void skipValue() throws IOException {
+		int level = 0;
+		do {
+			switch (peek()) {
+			case BEGIN_OBJECT -> {
+				beginObject();
+				level++;
+			}
+			case BEGIN_ARRAY -> {
+				beginArray();
+				level++;
+			}
+			case END_OBJECT -> {
+				endObject();
+				level--;
+			}
+			case END_ARRAY -> {
+				endArray();
+				level--;
+			}
+			case NAME -> nextName();
+			case STRING -> nextChars(scratch);
+			case NUMBER -> nextDouble(0);
+			case BOOLEAN, NULL -> consumeLiteral();
+			case END -> throw syntax("Unexpected end of input");
+			}
+		} while (level > 0);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	// -- Tokenizer --
+
+	private Token readToken() throws IOException {
+		int c = nextNonWhitespace();
+		if (c == -1) {
+			if (depth > 0)
+				throw syntax("Unexpected end of input");
+			return Token.END;
+		}
+
+		if (c == '}' || c == ']') {
+			if (depth == 0 || objStack[depth - 1] != (c == '}'))
+				throw syntax("Mismatched '" + (char) c + "'");
+			return c == '}' ? Token.END_OBJECT : Token.END_ARRAY;
+		}
+
+		boolean inObject = depth > 0 && objStack[depth - 1];
+		boolean isValue = inObject && expectValue;
+		if (isValue) {
+			if (c != ':')
+				throw syntax("Expected ':'");
+			c = nextNonWhitespace();
+			expectValue = false;
+		} else {
+			if (needComma) {
+				if (c != ',')
+					throw syntax("Expected ','");
+				c = nextNonWhitespace();
+			}
+			needComma = true;
+		}
+
+		if (inObject && !isValue) {
+			// Positioned at a member name
+			if (c != '"')
+				throw syntax("Expected member name");
+			return Token.NAME;
+		}
+		return valueToken(c);
+	}
+
+	private Token valueToken(int c) throws IOException {
+		switch (c) {
+		case '{':
+			return Token.BEGIN_OBJECT;
+		case '[':
+			return Token.BEGIN_ARRAY;
+		case '"':
+			return Token.STRING;
+		case 't':
+		case 'f':
+			pos--;
+			return Token.BOOLEAN;
+		case 'n':
+			pos--;
+			return Token.NULL;
+		default:
+			if (c == '-' || (c >= '0' && c <= '9')) {
+				pos--;
+				return Token.NUMBER;
+			}
+			throw syntax("Unexpected character '" + (char) c + "'");
+		}
+	}
+
+	private void expect(Token t) throws IOException {
+		Token actual = peek();
+		if (actual != t)
+			throw syntax("Expected " + t + " but was " + actual);
+		peeked = null;
+	}
+
+	private void push(boolean object) {
+		if (depth == objStack.length)
+			objStack = java.util.Arrays.copyOf(objStack, depth * 2);
+		objStack[depth++] = object;
+		needComma = false;
+		expectValue = false;
+	}
+
+	private void pop() {
+		depth--;
+		needComma = true;
+		expectValue = false;
+	}
+
+	private void consumeLiteral() throws IOException {
+		peeked = null;
+		int c;
+		while ((c = read()) != -1) {
+			if (c < 'a' || c > 'z') {
+				pos--;
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Reads the body of a string whose opening quote was already consumed.
+	 * Characters go into {@code dst}, or into the scratch buffer when null.
+	 */
+	private int readStringBody(char[] dst) throws IOException {
+		char[] out = dst == null ? scratch : dst;
+		int len = 0;
+		while (true) {
+			int c = read();
+			if (c == -1)
+				throw syntax("Unterminated string");
+			if (c == '"')
+				return len;
+			if (c == '\\')
+				c = readEscape();
+			if (len == out.length && dst == null)
+				out = scratch = java.util.Arrays.copyOf(scratch, len * 2);
+			if (len < out.length)
+				out[len] = (char) c;
+			len++;
+		}
+	}
+
+	private int readEscape() throws IOException {
+		int c = read();
+		switch (c) {
+		case 'n':
+			return '\n';
+		case 't':
+			return '\t';
+		case 'r':
+			return '\r';
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'u':
+			int v = 0;
+			for (int i = 0; i < 4; i++)
+				v = (v << 4) | Character.digit(read(), 16);
+			return v;
+		case -1:
+			throw syntax("Unterminated escape");
+		default:
+			return c; // covers \" \\ and \/
+		}
+	}
+
+	private double readNumber() throws IOException {
+		int len = 0;
+		int c;
+		while ((c = read()) != -1) {
+			if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+				if (len == scratch.length)
+					scratch = java.util.Arrays.copyOf(scratch, len * 2);
+				scratch[len++] = (char) c;
+			} else {
+				pos--;
+				break;
+			}
+		}
+		return parseDouble(scratch, len);
+	}
+
+	/**
+	 * Parses a JSON number. Plain decimals with up to 15 significant digits take
+	 * an exact, allocation-free path; anything else defers to the JDK.
+	 */
+	private static double parseDouble(char[] s, int len) {
+		int i = 0;
+		boolean neg = false;
+		if (len > 0 && s[0] == '-') {
+			neg = true;
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean dot = false;
+		for (; i < len; i++) {
+			char ch = s[i];
+			if (ch >= '0' && ch <= '9') {
+				if (++digits > 15)
+					return Double.parseDouble(new String(s, 0, len));
+				mantissa = mantissa * 10 + (ch - '0');
+				if (dot)
+					scale++;
+			} else if (ch == '.' && !dot) {
+				dot = true;
+			} else {
+				return Double.parseDouble(new String(s, 0, len));
+			}
+		}
+		if (digits == 0)
+			throw new NumberFormatException("Malformed number: " + new String(s, 0, len));
+		double v = scale == 0 ? mantissa : mantissa / POW10[scale];
+		return neg ? -v : v;
+	}
+
+	private int nextNonWhitespace() throws IOException {
+		int c;
+		do {
+			c = read();
+		} while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+		return c;
+	}
+
+	private int read() throws IOException {
+		if (pos == limit) {
+			limit = in.read(buf, 0, buf.length);
+			pos = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return -1;
+			}
+		}
+		return buf[pos++];
+	}
+
+	private IOException syntax(String msg) {
+		return new IOException("Malformed JSON: " + msg);
+	}
+}
\ No newline at end of file
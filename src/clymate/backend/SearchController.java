@@ -1,25 +1,39 @@
 package clymate.backend;
 
-import java.util.ArrayList;
+import clymate.metrics.LatencyHistogram;
+import clymate.metrics.Metrics;
 import java.util.List;
 import java.util.prefs.Preferences;
 import java.util.regex.Pattern;
 
 /**
- * Controller class for handling user search logic and history. Utilizes Java
- * Preferences API to persist recent searches.
+ * Controller class for handling user search logic and history. Recent
+ * searches are kept in the {@link HistoryStore} log; the packed
+ * {@code Preferences} string used by earlier versions is imported once.
  *
  * @author Malith Dissanayake
  */
 public class SearchController {
 
-	private static final int MAX_HISTORY = 5;
+	/** Entries shown in the history dropdown. */
+	private static final int SHOWN_HISTORY = 5;
+	private static final Pattern VALID_INPUT = Pattern.compile("^[\\p{L}\\p{M}\\s\\-,.']+$");
 	// Uses a node based on the package to ensure uniqueness
 	private static final Preferences prefs = Preferences.userNodeForPackage(SearchController.class);
+	private static final String LEGACY_HISTORY_KEY = "history_v4";
+
+	// Both run on the EDT; the store keeps them off the disk
+	private static final LatencyHistogram addTime = Metrics.timer("history.add");
+	private static final LatencyHistogram readTime = Metrics.timer("history.read");
+
+	private static final class Holder {
+		static final HistoryStore STORE = migrate(HistoryStore.get());
+	}
 
 	/**
-	 * Validates input city name. Allows letters, spaces, hyphens, and periods (e.g.
-	 * "St. Louis").
+	 * Validates input city name. Allows letters in any script (e.g. "Zürich",
+	 * "São Paulo"), spaces, hyphens, apostrophes, commas and periods (e.g. "St.
+	 * Louis").
 	 * 
 	 * @param input the string to test.
 	 * @return true if valid.
@@ -28,52 +42,69 @@ public class SearchController {
 		if (input == null || input.trim().length() < 2) {
 			return false;
 		}
-		return Pattern.matches("^[a-zA-Z\\s\\-,.]+$", input);
+		return VALID_INPUT.matcher(input).matches();
 	}
 
 	/**
-	 * Adds a city to the local search history with a timestamp.
+	 * Adds a city to the local search history with a timestamp. The write
+	 * happens in the background.
 	 * 
 	 * @param cr The city result object.
 	 */
 	public static void addToHistory(WeatherService.CityResult cr) {
-		String displayName = cr.toString();
-		// Packed Format: Name|Lat|Lon|Country|TimestampMillis
-		String entry = displayName + "|" + cr.getLat() + "|" + cr.getLon() + "|" + cr.getCountry() + "|"
-				+ System.currentTimeMillis();
-
-		String historyStr = prefs.get("history_v4", ""); // Versioned key
-		ArrayList<String> history;
-
-		if (historyStr.isEmpty()) {
-			history = new ArrayList<>();
-		} else {
-			history = new ArrayList<>(List.of(historyStr.split("##")));
-		}
-
-		// Remove duplicates of the same city
-		history.removeIf(s -> s.startsWith(displayName + "|"));
-
-		// Add new to front
-		history.add(0, entry);
-
-		// Enforce max size
-		if (history.size() > MAX_HISTORY) {
-			history.remove(MAX_HISTORY - 1);
-		}
-
-		prefs.put("history_v4", String.join("##", history));
+		long start = System.nanoTime();
+		Holder.STORE.add(cr, System.currentTimeMillis());
+		addTime.recordSince(start);
 	}
 
 	/**
 	 * Retrieves recent search history.
 	 * 
-	 * @return List of raw strings representing history items.
+	 * @return The latest searches, newest first, one per city.
+	 */
+	public static List<HistoryStore.Entry> getHistory() {
+		long start = System.nanoTime();
+		List<HistoryStore.Entry> history = Holder.STORE.recent(SHOWN_HISTORY);
+		readTime.recordSince(start);
+		return history;
+	}
+
+	/**
+	 * Moves the history of earlier versions, "##"-joined
+	 * {@code Name|Lat|Lon|Country|TimestampMillis} entries newest first, into an
+	 * empty store. The old key is kept until the entries are in the file, so a
+	 * failed write is retried on the next launch.
 	 */
-	public static List<String> getHistory() {
-		String raw = prefs.get("history_v4", "");
-		if (raw.isEmpty())
-			return new ArrayList<>();
-		return List.of(raw.split("##"));
+	private static HistoryStore migrate(HistoryStore store) {
+		String packed = prefs.get(LEGACY_HISTORY_KEY, "");
+		if (packed.isEmpty())
+			return store;
+		if (store.isEmpty()) {
+			List<String> legacy = List.of(packed.split("##"));
+			for (int i = legacy.size() - 1; i >= 0; i--) {
+				HistoryStore.Entry e = parseLegacy(legacy.get(i));
+				if (e != null)
+					store.add(e);
+			}
+			if (!store.sync())
+				return store;
+		}
+		prefs.remove(LEGACY_HISTORY_KEY);
+		return store;
+	}
+
+	private static HistoryStore.Entry parseLegacy(String entry) {
+		String[] p = entry.split("\\|");
+		if (p.length < 5)
+			return null;
+		try {
+			// The display name is "Name, Region, Country" or "Name, Country"
+			String[] label = p[0].split(", ");
+			String region = label.length > 2 ? String.join(", ", List.of(label).subList(1, label.length - 1)) : "";
+			return new HistoryStore.Entry(label[0], region, p[3], Double.parseDouble(p[1]), Double.parseDouble(p[2]),
+					Long.parseLong(p[4]));
+		} catch (NumberFormatException e) {
+			return null;
+		}
 	}
 }
\ No newline at end of file
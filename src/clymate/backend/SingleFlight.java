@@ -0,0 +1,134 @@
+package clymate.backend;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is in flight,
+ * further callers for the same key wait for its result instead of starting
+ * their own. Only calls that overlap are shared; nothing is kept once a call
+ * completes (that is the caches' job).
+ *
+ * <p>
+ * Every caller gets its own future, so one caller cancelling does not fail
+ * the others. The shared call itself is cancelled, aborting its request, only
+ * when every caller waiting for it has cancelled.
+ *
+ * @author Malith Dissanayake
+ */
+public final class SingleFlight<K, V> {
+
+	private static final class Flight<V> {
+		final CompletableFuture<V> call;
+		// Callers still waiting; 0 means the flight is being abandoned
+		final AtomicInteger waiters = new AtomicInteger(1);
+
+		Flight(CompletableFuture<V> call) {
+			this.call = call;
+		}
+
+		boolean join() {
+			int n;
+			do {
+				n = waiters.get();
+				if (n == 0)
+					return false;
+			} while (!waiters.compareAndSet(n, n + 1));
+			return true;
+		}
+	}
+
+	private final String name;
+	private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder saved = new LongAdder();
+
+	/**
+	 * @param name Identifies the call in {@link #toString()}.
+	 */
+	public SingleFlight(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Runs {@code call} for {@code key}, or joins the call already in flight for
+	 * it.
+	 *
+	 * @param key  Normalized request; equal keys must be interchangeable calls.
+	 * @param call Starts the call. Invoked at most once per flight.
+	 * @return This caller's view of the result.
+	 */
+	public CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> call) {
+		calls.increment();
+		while (true) {
+			Flight<V> f = inFlight.get(key);
+			if (f != null && f.join()) {
+				saved.increment();
+				return follow(key, f);
+			}
+
+			CompletableFuture<V> started = new CompletableFuture<>();
+			Flight<V> mine = new Flight<>(started);
+			boolean won = f == null ? inFlight.putIfAbsent(key, mine) == null : inFlight.replace(key, f, mine);
+			if (!won)
+				continue; // Lost a race with another caller; join theirs
+
+			CompletableFuture<V> upstream;
+			try {
+				upstream = call.get();
+			} catch (RuntimeException e) {
+				upstream = CompletableFuture.failedFuture(e);
+			}
+			CompletableFuture<V> u = upstream;
+			u.whenComplete((v, e) -> {
+				inFlight.remove(key, mine);
+				if (e == null)
+					started.complete(v);
+				else
+					started.completeExceptionally(e);
+			});
+			// Abandoned by every caller: abort the real call too
+			started.whenComplete((v, e) -> {
+				if (e instanceof CancellationException)
+					u.cancel(true);
+			});
+			return follow(key, mine);
+		}
+	}
+
+	/** @return Calls made through this instance. */
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	/** @return Calls that joined one already in flight instead of running. */
+	public long getSaved() {
+		return saved.sum();
+	}
+
+	/** @return Calls running right now. */
+	public int getInFlight() {
+		return inFlight.size();
+	}
+
+	@Override
+	public String toString() {
+		return "SingleFlight[" + name + ", calls=" + getCalls() + ", saved=" + getSaved() + ", inFlight="
+				+ getInFlight() + "]";
+	}
+
+	private CompletableFuture<V> follow(K key, Flight<V> f) {
+		CompletableFuture<V> mine = f.call.copy();
+		mine.whenComplete((v, e) -> {
+			if (e instanceof CancellationException && f.waiters.decrementAndGet() == 0) {
+				inFlight.remove(key, f);
+				f.call.cancel(true);
+			}
+		});
+		return mine;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package clymate.backend;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs background work for the UI. Every task gets its own virtual thread, so
+ * independent fetches never queue behind each other the way they did on the
+ * ten-thread SwingWorker pool.
+ *
+ * <p>
+ * Calls a task awaits through its {@link Scope} are cancelled, aborting their
+ * requests, when the task is cancelled or runs past its deadline. Each task
+ * waits on one call at a time; nothing in the app fans work out, so there are
+ * no forked subtasks to manage. Results reach the UI through one hand-off
+ * point: the success and error callbacks always run on the Event Dispatch
+ * Thread, and never for a task that was cancelled first.
+ *
+ * @author Malith Dissanayake
+ */
+public final class TaskService {
+
+	/**
+	 * The body of a task.
+	 */
+	@FunctionalInterface
+	public interface Job<T> {
+		T run(Scope scope) throws Exception;
+	}
+
+	/**
+	 * What a task's body waits through.
+	 */
+	public static final class Scope {
+		private Scope() {
+		}
+
+		/**
+		 * Waits for an asynchronous call, cancelling it (and so aborting its request)
+		 * if the task is cancelled while waiting.
+		 *
+		 * @return The call's result.
+		 * @throws Exception The call's own failure, unwrapped.
+		 */
+		public <U> U await(CompletableFuture<U> f) throws Exception {
+			try {
+				return f.get();
+			} catch (InterruptedException e) {
+				f.cancel(true);
+				throw e;
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception cause)
+					throw cause;
+				throw e;
+			}
+		}
+
+	}
+
+	/**
+	 * Handle to a running task.
+	 */
+	public static final class Task<T> {
+		private final String name;
+		private final Scope scope = new Scope();
+		private volatile Thread thread;
+		private volatile boolean cancelled;
+		private volatile boolean timedOut;
+		private volatile boolean finished;
+		private ScheduledFuture<?> deadline;
+
+		private Task(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Abandons the task: its thread is interrupted, in-flight calls awaited
+		 * through the scope are cancelled and neither callback will run, even if
+		 * the job has already finished and its result is queued for the EDT.
+		 * Call it from the Event Dispatch Thread to be sure no callback follows.
+		 */
+		public void cancel() {
+			if (cancelled)
+				return;
+			cancelled = true;
+			interrupt(); // Does nothing once the job has finished
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		/** @return true once the job has returned or thrown. */
+		public boolean isFinished() {
+			return finished;
+		}
+
+		@Override
+		public String toString() {
+			return "Task[" + name + (cancelled ? ", cancelled" : finished ? ", finished" : ", running") + "]";
+		}
+
+		private void interrupt() {
+			Thread t = thread;
+			if (t != null && !finished)
+				t.interrupt();
+		}
+
+		private void run(Job<T> job, Consumer<? super T> onSuccess, Consumer<? super Exception> onError) {
+			T result = null;
+			Exception error = null;
+			try {
+				result = job.run(scope);
+			} catch (Exception e) {
+				error = e;
+			} finally {
+				finished = true;
+				if (deadline != null)
+					deadline.cancel(false);
+			}
+
+			// The deadline explains an interruption better than the interruption
+			if (timedOut)
+				error = new TimeoutException(name + " timed out");
+			if (cancelled)
+				return;
+
+			T r = result;
+			Exception e = error;
+			SwingUtilities.invokeLater(() -> {
+				if (cancelled)
+					return; // Cancelled while the hand-off was queued
+				if (e == null)
+					onSuccess.accept(r);
+				else if (onError != null)
+					onError.accept(e);
+				else
+					System.err.println("Background task " + name + " failed: " + e);
+			});
+		}
+	}
+
+	// One daemon thread arms every deadline; the tasks themselves never run on it
+	private static final ScheduledExecutorService DEADLINES = newDeadlineTimer();
+
+	private TaskService() {
+	}
+
+	/**
+	 * Starts a task on a new virtual thread.
+	 *
+	 * @param name      Names the thread, and the task in error messages.
+	 * @param timeout   Deadline for the whole task, or null for none.
+	 * @param job       The work.
+	 * @param onSuccess Receives the result on the EDT.
+	 * @param onError   Receives the failure on the EDT (a
+	 *                  {@link TimeoutException} if the deadline passed), or null to
+	 *                  log it.
+	 * @return A handle for cancelling the task.
+	 */
+	public static <T> Task<T> submit(String name, Duration timeout, Job<T> job, Consumer<? super T> onSuccess,
+			Consumer<? super Exception> onError) {
+		Task<T> task = new Task<>(name);
+		Thread t = Thread.ofVirtual().name(name).unstarted(() -> task.run(job, onSuccess, onError));
+		task.thread = t;
+		if (timeout != null) {
+			task.deadline = DEADLINES.schedule(() -> {
+				if (!task.finished && !task.cancelled) {
+					task.timedOut = true;
+					task.interrupt();
+				}
+			}, timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		t.start();
+		return task;
+	}
+
+	/**
+	 * @return true if {@code e} only reports that the task was stopped, not a
+	 *         real failure.
+	 */
+	public static boolean isInterruption(Throwable e) {
+		return e instanceof InterruptedException || e instanceof CancellationException;
+	}
+
+	private static ScheduledExecutorService newDeadlineTimer() {
+		ScheduledThreadPoolExecutor s = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "clymate-task-deadlines");
+			t.setDaemon(true);
+			return t;
+		});
+		s.setRemoveOnCancelPolicy(true);
+		return s;
+	}
+}
\ No newline at end of file
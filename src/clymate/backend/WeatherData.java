@@ -1,12 +1,23 @@
 package clymate.backend;
 
-import java.util.ArrayList;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.zone.ZoneRules;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 /**
- * Data Model class representing comprehensive weather information. This POJO
- * (Plain Old Java Object) stores current conditions, hourly forecasts, and
- * daily forecasts parsed from the API response.
+ * Data Model class representing comprehensive weather information. Stores
+ * current conditions plus the hourly and daily forecasts parsed from the API
+ * response, the latter as compact primitive columns.
  *
  * @author Malith Dissanayake
  */
@@ -36,83 +47,153 @@ public class WeatherData {
 	/** Offset in seconds from UTC for the location's timezone. */
 	private int utcOffsetSeconds;
 
+	/** IANA timezone of the location (e.g. "Europe/Berlin"), or null. */
+	private String timezone;
+
+	/** Rules of {@link #timezone}, resolved on first use. */
+	private ZoneRules zoneRules;
+
 	/** Name of the city. */
 	private String cityName;
 
 	/** Name of the country. */
 	private String country;
 
+	/** Requested coordinates of the location. */
+	private double latitude;
+	private double longitude;
+
+	/** When the data was fetched from the API (epoch millis). */
+	private long fetchedAt;
+
 	/** Sunrise time string. */
 	private String sunrise;
 
 	/** Sunset time string. */
 	private String sunset;
 
-	/** List containing forecast data for upcoming days. */
-	private List<DailyForecast> forecast = new ArrayList<>();
+	/*
+	 * Forecast series are stored column-wise: one primitive array per field
+	 * rather than one object per point. Timestamps are epoch seconds, converted
+	 * from local time with the zone's rules so hours past a DST change are
+	 * right too; display labels are formatted on demand.
+	 */
 
-	/** List containing forecast data for the next 24 hours. */
-	private List<HourlyForecast> hourlyForecast = new ArrayList<>();
+	/** Start of each hour in the full hourly horizon returned by the API. */
+	private long[] hourlyTime = new long[0];
+	private double[] hourlyTemp = new double[0];
+	private double[] hourlyWind = new double[0];
+	private byte[] hourlyCode = new byte[0];
+	private byte[] hourlyRain = new byte[0];
+
+	/** Local midnight of each day. Index 0 is yesterday, 1 is today. */
+	private long[] dailyTime = new long[0];
+	private double[] dailyMax = new double[0];
+	private double[] dailyMin = new double[0];
+	private double[] dailyWind = new double[0];
+	private byte[] dailyCode = new byte[0];
+	private byte[] dailyPrecip = new byte[0];
+
+	/** Number of hours exposed by {@link #getHourlyForecast()}. */
+	public static final int HOURLY_VIEW_HOURS = 24;
+
+	/** Index of tomorrow in the daily columns, the first day in the forecast list. */
+	private static final int FIRST_FORECAST_DAY = 2;
+
+	private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MMM d");
+	private static final String[] HOUR_LABELS = new String[24];
+	private static final String[] DAY_NAMES = new String[7];
+
+	static {
+		for (int h = 0; h < 24; h++) {
+			int h12 = (h > 12) ? h - 12 : ((h == 0) ? 12 : h);
+			HOUR_LABELS[h] = h12 + ((h >= 12) ? " PM" : " AM");
+		}
+		for (DayOfWeek d : DayOfWeek.values())
+			DAY_NAMES[d.ordinal()] = d.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+	}
 
 	/**
-	 * Inner class representing data for a single day's forecast.
+	 * Lightweight view of a single day's forecast, backed by the daily columns.
 	 */
-	public static class DailyForecast {
-		public String dayName;
-		public String dateText;
-		public double max;
-		public double min;
-		public double windMax;
-		public int code;
-		public int precip;
-
-		/**
-		 * Constructor for DailyForecast.
-		 * 
-		 * @param d   Day name (e.g., "Mon").
-		 * @param dt  Date text (e.g., "Jan 1").
-		 * @param max Maximum temperature.
-		 * @param min Minimum temperature.
-		 * @param w   Maximum wind speed.
-		 * @param c   Weather condition code.
-		 * @param p   Precipitation probability.
-		 */
-		public DailyForecast(String d, String dt, double max, double min, double w, int c, int p) {
-			this.dayName = d;
-			this.dateText = dt;
-			this.max = max;
-			this.min = min;
-			this.windMax = w;
-			this.code = c;
-			this.precip = p;
+	public class DailyForecast {
+		private final int i;
+
+		private DailyForecast(int i) {
+			this.i = i;
+		}
+
+		/** @return Day name (e.g., "Mon"). */
+		public String dayName() {
+			return formatDayName(i);
+		}
+
+		/** @return Date text (e.g., "Jan 1"). */
+		public String dateText() {
+			return formatDate(i);
+		}
+
+		/** @return Maximum temperature. */
+		public double max() {
+			return dailyMax[i];
+		}
+
+		/** @return Minimum temperature. */
+		public double min() {
+			return dailyMin[i];
+		}
+
+		/** @return Maximum wind speed. */
+		public double windMax() {
+			return dailyWind[i];
+		}
+
+		/** @return Weather condition code. */
+		public int code() {
+			return dailyCode[i];
+		}
+
+		/** @return Precipitation probability. */
+		public int precip() {
+			return dailyPrecip[i];
 		}
 	}
 
 	/**
-	 * Inner class representing data for a specific hour.
+	 * Lightweight view of a specific hour, backed by the hourly columns.
 	 */
-	public static class HourlyForecast {
-		public String time;
-		public double temp;
-		public double wind;
-		public int code;
-		public int rainChance;
-
-		/**
-		 * Constructor for HourlyForecast.
-		 * 
-		 * @param t  Display time string.
-		 * @param te Temperature.
-		 * @param c  Weather condition code.
-		 * @param r  Rain probability.
-		 * @param w  Wind speed.
-		 */
-		public HourlyForecast(String t, double te, int c, int r, double w) {
-			this.time = t;
-			this.temp = te;
-			this.code = c;
-			this.rainChance = r;
-			this.wind = w;
+	public class HourlyForecast {
+		private final int i;
+		private final boolean now;
+
+		private HourlyForecast(int i, boolean now) {
+			this.i = i;
+			this.now = now;
+		}
+
+		/** @return Display time string ("Now" for the current hour). */
+		public String time() {
+			return now ? "Now" : formatHour(i);
+		}
+
+		/** @return Temperature. */
+		public double temp() {
+			return hourlyTemp[i];
+		}
+
+		/** @return Wind speed. */
+		public double wind() {
+			return hourlyWind[i];
+		}
+
+		/** @return Weather condition code. */
+		public int code() {
+			return hourlyCode[i];
+		}
+
+		/** @return Rain probability. */
+		public int rainChance() {
+			return hourlyRain[i];
 		}
 	}
 
@@ -128,11 +209,66 @@ public class WeatherData {
 		return country;
 	}
 
-	/** @return The local time offset from UTC in seconds. */
+	/** @return Latitude of the location. */
+	public double getLatitude() {
+		return latitude;
+	}
+
+	/** @return Longitude of the location. */
+	public double getLongitude() {
+		return longitude;
+	}
+
+	/** @return When the data was fetched from the API (epoch millis). */
+	public long getFetchedAt() {
+		return fetchedAt;
+	}
+
+	/** @return The local time offset from UTC in seconds when fetched. */
 	public int getUtcOffset() {
 		return utcOffsetSeconds;
 	}
 
+	/**
+	 * @param epochSecond An instant, e.g. a forecast hour.
+	 * @return The local time offset from UTC in seconds at that instant.
+	 */
+	public int getUtcOffset(long epochSecond) {
+		ZoneRules rules = zoneRules();
+		if (rules.isFixedOffset())
+			return utcOffsetSeconds;
+		return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+	}
+
+	/** @return The IANA timezone of the location, or null if unknown. */
+	public String getTimezone() {
+		return timezone;
+	}
+
+	private ZoneRules zoneRules() {
+		ZoneRules r = zoneRules;
+		if (r == null) {
+			r = rulesOf(timezone, utcOffsetSeconds);
+			zoneRules = r;
+		}
+		return r;
+	}
+
+	/**
+	 * @return The rules of a timezone, or a fixed offset if the zone is missing
+	 *         or unknown.
+	 */
+	static ZoneRules rulesOf(String timezone, int fallbackOffset) {
+		if (timezone != null) {
+			try {
+				return ZoneId.of(timezone).getRules();
+			} catch (DateTimeException e) {
+				// Fall back to the offset
+			}
+		}
+		return ZoneOffset.ofTotalSeconds(fallbackOffset).getRules();
+	}
+
 	/** @return Current temperature. */
 	public double getCurrentTemp() {
 		return currentTemp;
@@ -178,14 +314,175 @@ public class WeatherData {
 		return yesterdayTemp;
 	}
 
-	/** @return List of hourly forecast objects. */
+	/**
+	 * @return View of the next 24 hours, starting at the current local hour.
+	 */
 	public List<HourlyForecast> getHourlyForecast() {
-		return hourlyForecast;
+		int start = getHourlyStart();
+		int size = start < 0 ? 0 : Math.min(HOURLY_VIEW_HOURS, hourlyTime.length - start);
+		return new AbstractList<>() {
+			@Override
+			public HourlyForecast get(int index) {
+				Objects.checkIndex(index, size);
+				return new HourlyForecast(start + index, index == 0);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
 	}
 
-	/** @return List of daily forecast objects. */
+	/**
+	 * @return View of the daily forecast, starting tomorrow.
+	 */
 	public List<DailyForecast> getForecast() {
-		return forecast;
+		int size = Math.max(0, dailyTime.length - FIRST_FORECAST_DAY);
+		return new AbstractList<>() {
+			@Override
+			public DailyForecast get(int index) {
+				Objects.checkIndex(index, size);
+				return new DailyForecast(FIRST_FORECAST_DAY + index);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	// -- Columnar Access --
+
+	/** @return Number of hours in the full hourly horizon. */
+	public int getHourlyCount() {
+		return hourlyTime.length;
+	}
+
+	/**
+	 * Locates the current local hour in the hourly horizon.
+	 * 
+	 * @return The index of the current hour, or -1 if the data does not cover it.
+	 */
+	public int getHourlyStart() {
+		long now = Instant.now().getEpochSecond();
+		int offset = getUtcOffset(now);
+		long target = Math.floorDiv(now + offset, 3600) * 3600 - offset;
+		for (int i = 0; i < hourlyTime.length; i++) {
+			if (hourlyTime[i] == target)
+				return i;
+		}
+		return -1;
+	}
+
+	/** @return Epoch second at the start of hour {@code i}. */
+	public long getHourlyTime(int i) {
+		return hourlyTime[i];
+	}
+
+	public double getHourlyTemp(int i) {
+		return hourlyTemp[i];
+	}
+
+	public double getHourlyWind(int i) {
+		return hourlyWind[i];
+	}
+
+	public int getHourlyCode(int i) {
+		return hourlyCode[i];
+	}
+
+	public int getHourlyRain(int i) {
+		return hourlyRain[i];
+	}
+
+	/**
+	 * Formats the local hour of hour {@code i} (e.g. "2 PM"). Labels come from a
+	 * shared table, so this does not allocate.
+	 */
+	public String formatHour(int i) {
+		return HOUR_LABELS[Math.floorMod(hourlyTime[i] + getUtcOffset(hourlyTime[i]), 86400) / 3600];
+	}
+
+	/** @return Number of days in the daily columns, including yesterday and today. */
+	public int getDailyCount() {
+		return dailyTime.length;
+	}
+
+	/** @return Epoch second at local midnight of day {@code i}. */
+	public long getDailyTime(int i) {
+		return dailyTime[i];
+	}
+
+	public double getDailyMax(int i) {
+		return dailyMax[i];
+	}
+
+	public double getDailyMin(int i) {
+		return dailyMin[i];
+	}
+
+	public double getDailyWind(int i) {
+		return dailyWind[i];
+	}
+
+	public int getDailyCode(int i) {
+		return dailyCode[i];
+	}
+
+	public int getDailyPrecip(int i) {
+		return dailyPrecip[i];
+	}
+
+	/** @return Short English day name of day {@code i} (e.g. "Mon"). */
+	public String formatDayName(int i) {
+		return DAY_NAMES[localDate(i).getDayOfWeek().ordinal()];
+	}
+
+	/** @return Date text of day {@code i} (e.g. "Jan 1"). */
+	public String formatDate(int i) {
+		return localDate(i).format(DATE_FMT);
+	}
+
+	private LocalDate localDate(int i) {
+		return LocalDate.ofEpochDay(Math.floorDiv(dailyTime[i] + getUtcOffset(dailyTime[i]), 86400));
+	}
+
+	/**
+	 * Returns a copy labelled with another place. The forecast columns are
+	 * shared, not copied, so this is cheap; they are never written in place,
+	 * so setters on the copy leave this object untouched. Cached forecasts are
+	 * only ever handed out this way.
+	 * 
+	 * @param c   City name.
+	 * @param co  Country name.
+	 * @param lat Latitude.
+	 * @param lon Longitude.
+	 * @return A relabelled copy, even if the place already matches.
+	 */
+	public WeatherData withLocation(String c, String co, double lat, double lon) {
+		WeatherData d = new WeatherData();
+		d.currentTemp = currentTemp;
+		d.humidity = humidity;
+		d.windSpeed = windSpeed;
+		d.uvIndex = uvIndex;
+		d.yesterdayTemp = yesterdayTemp;
+		d.weatherCode = weatherCode;
+		d.precipProb = precipProb;
+		d.utcOffsetSeconds = utcOffsetSeconds;
+		d.timezone = timezone;
+		d.zoneRules = zoneRules;
+		d.cityName = c;
+		d.country = co;
+		d.latitude = lat;
+		d.longitude = lon;
+		d.fetchedAt = fetchedAt;
+		d.sunrise = sunrise;
+		d.sunset = sunset;
+		d.setHourly(hourlyTime, hourlyTemp, hourlyCode, hourlyRain, hourlyWind);
+		d.setDaily(dailyTime, dailyMax, dailyMin, dailyWind, dailyCode, dailyPrecip);
+		return d;
 	}
 
 	// -- Mutator Methods used by WeatherService parser --
@@ -193,7 +490,18 @@ public class WeatherData {
 	public void setBasicInfo(String c, String co, String tz, int off) {
 		this.cityName = c;
 		this.country = co;
+		this.timezone = tz;
 		this.utcOffsetSeconds = off;
+		this.zoneRules = null;
+	}
+
+	public void setCoordinates(double lat, double lon) {
+		this.latitude = lat;
+		this.longitude = lon;
+	}
+
+	public void setFetchedAt(long millis) {
+		this.fetchedAt = millis;
 	}
 
 	public void setCurrentData(double t, double h, double w, int c) {
@@ -212,30 +520,39 @@ public class WeatherData {
 	}
 
 	/**
-	 * Helper to add a new hourly data point.
+	 * Replaces the hourly columns. All arrays must have the same length.
 	 * 
-	 * @param t    Time
-	 * @param tm   Temperature
-	 * @param c    Code
+	 * @param time Epoch second at the start of each hour
+	 * @param temp Temperature
+	 * @param code Weather Code
 	 * @param rain Rain probability
-	 * @param w    Wind speed
+	 * @param wind Wind speed
 	 */
-	public void addHourly(String t, double tm, int c, int rain, double w) {
-		hourlyForecast.add(new HourlyForecast(t, tm, c, rain, w));
+	public void setHourly(long[] time, double[] temp, byte[] code, byte[] rain, double[] wind) {
+		this.hourlyTime = time;
+		this.hourlyTemp = temp;
+		this.hourlyCode = code;
+		this.hourlyRain = rain;
+		this.hourlyWind = wind;
 	}
 
 	/**
-	 * Helper to add a new daily forecast point.
+	 * Replaces the daily columns, starting with yesterday. All arrays must have
+	 * the same length.
 	 * 
-	 * @param d    Day Name
-	 * @param dt   Date
-	 * @param max  Max Temp
-	 * @param min  Min Temp
-	 * @param wind Wind Speed
-	 * @param c    Weather Code
-	 * @param p    Precipitation
+	 * @param time   Epoch second at local midnight of each day
+	 * @param max    Max Temp
+	 * @param min    Min Temp
+	 * @param wind   Wind Speed
+	 * @param code   Weather Code
+	 * @param precip Precipitation
 	 */
-	public void addDaily(String d, String dt, double max, double min, double wind, int c, int p) {
-		forecast.add(new DailyForecast(d, dt, max, min, wind, c, p));
+	public void setDaily(long[] time, double[] max, double[] min, double[] wind, byte[] code, byte[] precip) {
+		this.dailyTime = time;
+		this.dailyMax = max;
+		this.dailyMin = min;
+		this.dailyWind = wind;
+		this.dailyCode = code;
+		this.dailyPrecip = precip;
 	}
 }
\ No newline at end of file
@@ -1,16 +1,29 @@
 package clymate.backend;
 
+import clymate.metrics.FetchEvent;
+import clymate.metrics.LatencyHistogram;
+import clymate.metrics.Metrics;
+import clymate.metrics.ParseEvent;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.net.HttpURLConnection;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.TextStyle;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -40,10 +53,22 @@ public class WeatherService {
 			this.lon = j.getDouble("longitude");
 		}
 
+		public CityResult(String name, String region, String country, double lat, double lon) {
+			this.name = name;
+			this.region = region == null ? "" : region;
+			this.country = country == null ? "" : country;
+			this.lat = lat;
+			this.lon = lon;
+		}
+
 		public String getName() {
 			return name;
 		}
 
+		public String getRegion() {
+			return region;
+		}
+
 		public String getCountry() {
 			return country;
 		}
@@ -62,46 +87,179 @@ public class WeatherService {
 		}
 	}
 
+	/** Shared client: pooled keep-alive connections, HTTP/2 where offered. */
+	private static final HttpClient CLIENT = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+			.connectTimeout(Duration.ofSeconds(5)).followRedirects(HttpClient.Redirect.NORMAL).build();
+
+	/** Recently fetched forecasts, shared by every caller. Sized by -Dclymate.forecast.cacheEntries. */
+	private static final ForecastCache CACHE = new ForecastCache(Integer.getInteger("clymate.forecast.cacheEntries", 128));
+
+	// Identical calls running at the same time share one request and one parse
+	private static final SingleFlight<Long, WeatherData> FORECAST_FLIGHTS = new SingleFlight<>("forecast");
+	private static final SingleFlight<String, List<CityResult>> SEARCH_FLIGHTS = new SingleFlight<>("search");
+
+	// Endpoints, overridable (e.g. -Dclymate.forecast.url=...) to point at a local stand-in server
+	private static final String IP_URL = System.getProperty("clymate.iplocation.url", "http://ip-api.com/json");
+	private static final String GEOCODING_URL = System.getProperty("clymate.geocoding.url",
+			"https://geocoding-api.open-meteo.com/v1/search");
+	private static final String FORECAST_URL = System.getProperty("clymate.forecast.url",
+			"https://api.open-meteo.com/v1/forecast");
+
+	// Per-endpoint rate limits, retries and breakers. ip-api allows 45 requests a minute, Open-Meteo 600
+	private static final Endpoint IP_API = new Endpoint("ip-api", 0.7, 3)
+			.retries(3, Duration.ofMillis(200), Duration.ofSeconds(1)).hedgeAfter(Duration.ofMillis(1200))
+			.breaker(3, Duration.ofSeconds(60));
+	private static final Endpoint GEOCODING = new Endpoint("geocoding", 5, 10)
+			.retries(3, Duration.ofMillis(200), Duration.ofSeconds(2)).hedgeAfter(Duration.ofMillis(1500))
+			.breaker(5, Duration.ofSeconds(30));
+	private static final Endpoint FORECAST = new Endpoint("forecast", 8, 16)
+			.retries(3, Duration.ofMillis(300), Duration.ofSeconds(3)).hedgeAfter(Duration.ofSeconds(3))
+			.breaker(5, Duration.ofSeconds(30));
+
+	/** Last city ip-api answered with, served when it cannot be reached. */
+	private static volatile String lastIpCity;
+
+	// Whole-call deadlines, retries included: connect, headers and reading the body
+	private static final Duration IP_DEADLINE = Duration.ofSeconds(4);
+	private static final Duration SEARCH_DEADLINE = Duration.ofSeconds(8);
+	private static final Duration FORECAST_DEADLINE = Duration.ofSeconds(15);
+	private static final Duration BATCH_DEADLINE = Duration.ofSeconds(30);
+
+	// Batch packing limits: stay well under common 8 KB URL limits and keep bodies moderate
+	private static final int MAX_URL_LENGTH = 4000;
+	private static final int MAX_BATCH_LOCATIONS = 100;
+
+	private static final String FORECAST_PARAMS = "&current=temperature_2m,relative_humidity_2m,weather_code,wind_speed_10m"
+			+ "&hourly=temperature_2m,weather_code,precipitation_probability,wind_speed_10m"
+			+ "&daily=temperature_2m_max,temperature_2m_min,weather_code,uv_index_max,precipitation_probability_max,wind_speed_10m_max,sunrise,sunset"
+			+ "&timezone=auto&past_days=1&forecast_days=16";
+
+	static {
+		Metrics.gauge("cache.forecast.hits", CACHE::getHits);
+		Metrics.gauge("cache.forecast.misses", CACHE::getMisses);
+		Metrics.gauge("cache.forecast.size", CACHE::size);
+		Metrics.gauge("coalesced.forecast.saved", FORECAST_FLIGHTS::getSaved);
+		Metrics.gauge("coalesced.search.saved", SEARCH_FLIGHTS::getSaved);
+		for (Endpoint ep : List.of(IP_API, GEOCODING, FORECAST)) {
+			Metrics.gauge("upstream." + ep.getName() + ".attempts", ep::getAttempts);
+			Metrics.gauge("upstream." + ep.getName() + ".retries", ep::getRetries);
+			Metrics.gauge("upstream." + ep.getName() + ".rejected", ep::getRejected);
+		}
+	}
+
+	/**
+	 * Reads a response body into a result.
+	 */
+	@FunctionalInterface
+	interface BodyParser<T> {
+		T parse(InputStream in) throws IOException;
+	}
+
 	/**
 	 * fetches the user's approximate location using their IP address.
 	 * 
-	 * @return The city name derived from IP-API, or "London" if failed.
+	 * @return The city name derived from IP-API, or the last one it gave (or
+	 *         "London") if failed.
 	 */
 	public static String getIpLocation() {
-		try {
-			String response = makeRequest("http://ip-api.com/json");
-			JSONObject json = new JSONObject(response);
-			if ("success".equals(json.optString("status"))) {
-				return json.getString("city");
-			}
-		} catch (Exception e) {
-			System.err.println("Auto-location failed: " + e.getMessage());
-		}
-		return "London";
+		return getIpLocationAsync().join();
 	}
 
 	/**
-	 * Searches for cities matching the query string.
+	 * Asynchronous version of {@link #getIpLocation()}. Never completes
+	 * exceptionally.
+	 */
+	public static CompletableFuture<String> getIpLocationAsync() {
+		CompletableFuture<String> city = fetchAsync(IP_API, true, IP_URL, IP_DEADLINE, in -> {
+			JSONObject json = new JSONObject(readString(in));
+			if (!"success".equals(json.optString("status")))
+				return fallbackCity();
+			return lastIpCity = json.getString("city");
+		});
+		return cancelling(city, city.exceptionally(e -> {
+			System.err.println("Auto-location failed: " + unwrap(e));
+			return fallbackCity();
+		}));
+	}
+
+	private static String fallbackCity() {
+		String city = lastIpCity;
+		return city != null ? city : "London";
+	}
+
+	/**
+	 * Searches for cities matching the query string. The bundled offline
+	 * gazetteer answers a qualified name it knows ("Paris, France") on its own;
+	 * otherwise its matches come first and the geocoding API adds the places
+	 * it does not know, e.g. Paris, Texas. Offline, the local matches are
+	 * returned alone.
 	 * 
 	 * @param query The user's input city name.
 	 * @return A list of CityResult objects matching the query.
 	 * @throws Exception If network error occurs.
 	 */
 	public static List<CityResult> searchCities(String query) throws Exception {
-		String encodedName = query.trim().replace(" ", "%20").replace(",", "%2C");
-		String url = "https://geocoding-api.open-meteo.com/v1/search?name=" + encodedName
+		return await(searchCitiesAsync(query));
+	}
+
+	/**
+	 * Asynchronous version of {@link #searchCities(String)}.
+	 */
+	public static CompletableFuture<List<CityResult>> searchCitiesAsync(String query) {
+		List<CityResult> local = Gazetteer.get().find(query, 5);
+		// The gazetteer only lists large cities, so a bare name is ambiguous
+		if (local.size() == 1 && query.indexOf(',') >= 0)
+			return CompletableFuture.completedFuture(local);
+		CompletableFuture<List<CityResult>> online = searchCitiesOnlineAsync(query);
+		if (local.isEmpty())
+			return online;
+		return cancelling(online, online.handle((found, e) -> merge(local, e == null ? found : List.of(), 5)));
+	}
+
+	/**
+	 * @return {@code first}, then the cities of {@code more} not already in it
+	 *         (same place within about 10 km), up to {@code limit}.
+	 */
+	private static List<CityResult> merge(List<CityResult> first, List<CityResult> more, int limit) {
+		List<CityResult> out = new ArrayList<>(first);
+		for (CityResult c : more) {
+			if (out.size() >= limit)
+				break;
+			boolean known = false;
+			for (CityResult k : first)
+				known |= Math.abs(k.getLat() - c.getLat()) < 0.1 && Math.abs(k.getLon() - c.getLon()) < 0.1;
+			if (!known)
+				out.add(c);
+		}
+		return out;
+	}
+
+	/**
+	 * Queries the geocoding API directly, bypassing the offline gazetteer.
+	 * Cancelling the returned future aborts the request.
+	 */
+	public static CompletableFuture<List<CityResult>> searchCitiesOnlineAsync(String query) {
+		String key = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+		// Callers get their own list; the shared one stays untouched
+		return map(SEARCH_FLIGHTS.run(key, () -> fetchCitiesAsync(key)), ArrayList::new);
+	}
+
+	private static CompletableFuture<List<CityResult>> fetchCitiesAsync(String query) {
+		String url = GEOCODING_URL + "?name=" + URLEncoder.encode(query, StandardCharsets.UTF_8)
 				+ "&count=5&language=en&format=json";
 
-		JSONObject json = new JSONObject(makeRequest(url));
-		List<CityResult> results = new ArrayList<>();
+		return fetchAsync(GEOCODING, true, url, SEARCH_DEADLINE, in -> {
+			JSONObject json = new JSONObject(readString(in));
+			List<CityResult> results = new ArrayList<>();
 
-		if (json.has("results")) {
-			JSONArray arr = json.getJSONArray("results");
-			for (int i = 0; i < arr.length(); i++) {
-				results.add(new CityResult(arr.getJSONObject(i)));
+			if (json.has("results")) {
+				JSONArray arr = json.getJSONArray("results");
+				for (int i = 0; i < arr.length(); i++) {
+					results.add(new CityResult(arr.getJSONObject(i)));
+				}
 			}
-		}
-		return results;
+			return results;
+		});
 	}
 
 	/**
@@ -116,118 +274,339 @@ public class WeatherService {
 	 * @throws Exception If API request or parsing fails.
 	 */
 	public static WeatherData getWeather(double lat, double lon, String city, String country) throws Exception {
-		// Construct the massive API URL query
-		String url = String.format("https://api.open-meteo.com/v1/forecast?latitude=%s&longitude=%s"
-				+ "&current=temperature_2m,relative_humidity_2m,weather_code,wind_speed_10m"
-				+ "&hourly=temperature_2m,weather_code,precipitation_probability,wind_speed_10m"
-				+ "&daily=temperature_2m_max,temperature_2m_min,weather_code,uv_index_max,precipitation_probability_max,wind_speed_10m_max,sunrise,sunset"
-				+ "&timezone=auto&past_days=1&forecast_days=16", lat, lon);
-
-		String resp = makeRequest(url);
-		JSONObject root = new JSONObject(resp);
-		JSONObject current = root.getJSONObject("current");
-		JSONObject daily = root.getJSONObject("daily");
-		JSONObject hourly = root.getJSONObject("hourly");
-
-		WeatherData data = new WeatherData();
-		data.setBasicInfo(city, country, root.getString("timezone"), root.getInt("utc_offset_seconds"));
-
-		data.setCurrentData(current.getDouble("temperature_2m"), current.getDouble("relative_humidity_2m"),
-				current.getDouble("wind_speed_10m"), current.getInt("weather_code"));
-
-		data.setExtraData(daily.getJSONArray("uv_index_max").optDouble(1, 0.0),
-				daily.getJSONArray("precipitation_probability_max").optInt(1, 0),
-				parseTime(daily.getJSONArray("sunrise").getString(1)),
-				parseTime(daily.getJSONArray("sunset").getString(1)),
-				daily.getJSONArray("temperature_2m_max").optDouble(0, 0.0) // Past day 0 is yesterday
-		);
-
-		// Parse Daily Forecast
-		JSONArray timeArr = daily.getJSONArray("time");
-		JSONArray maxArr = daily.getJSONArray("temperature_2m_max");
-		JSONArray minArr = daily.getJSONArray("temperature_2m_min");
-		JSONArray codes = daily.getJSONArray("weather_code");
-		JSONArray precip = daily.getJSONArray("precipitation_probability_max");
-		JSONArray windMax = daily.getJSONArray("wind_speed_10m_max");
-
-		int limit = Math.min(timeArr.length(), maxArr.length());
-		DateTimeFormatter df = DateTimeFormatter.ofPattern("MMM d");
-
-		// Start from index 2 (Tomorrow). Index 0 is yesterday, 1 is today.
-		for (int i = 2; i < limit; i++) {
-			LocalDate date = LocalDate.parse(timeArr.getString(i));
-			data.addDaily(date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH), date.format(df),
-					maxArr.optDouble(i, 0.0), minArr.optDouble(i, 0.0), windMax.optDouble(i, 0.0), codes.optInt(i, 0),
-					precip.optInt(i, 0));
-		}
-
-		// Parse Hourly Forecast
-		// Logic: Find the current hour in the city's local time, start parsing 24 hours
-		// from there.
-		JSONArray hTime = hourly.getJSONArray("time");
-		JSONArray hTemp = hourly.getJSONArray("temperature_2m");
-		JSONArray hCode = hourly.getJSONArray("weather_code");
-		JSONArray hRain = hourly.getJSONArray("precipitation_probability");
-		JSONArray hWind = hourly.getJSONArray("wind_speed_10m");
-
-		String localHourStr = ZonedDateTime.now(ZoneId.of(root.getString("timezone")))
-				.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH"));
-
-		int startIdx = -1;
-		for (int i = 0; i < hTime.length(); i++) {
-			if (hTime.getString(i).startsWith(localHourStr)) {
-				startIdx = i;
-				break;
+		return await(getWeatherAsync(lat, lon, city, country));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getWeather(double, double, String, String)}.
+	 * While the forecast endpoint is failing fast, the last forecast fetched for
+	 * the place is served, however old.
+	 */
+	public static CompletableFuture<WeatherData> getWeatherAsync(double lat, double lon, String city,
+			String country) {
+		WeatherData cached = CACHE.get(lat, lon);
+		if (cached != null)
+			return CompletableFuture.completedFuture(cached.withLocation(city, country, lat, lon));
+
+		// Keyed like the cache: concurrent calls for one grid cell share a fetch
+		CompletableFuture<WeatherData> fetch = FORECAST_FLIGHTS.run(ForecastCache.key(lat, lon),
+				() -> fetchWeatherAsync(lat, lon, city, country));
+		CompletableFuture<WeatherData> served = fetch.exceptionallyCompose(e -> {
+			WeatherData stale = unwrap(e) instanceof Endpoint.OpenCircuitException ? CACHE.getStale(lat, lon) : null;
+			return stale != null ? CompletableFuture.completedFuture(stale) : CompletableFuture.failedFuture(e);
+		});
+		return cancelling(fetch, served.thenApply(d -> d.withLocation(city, country, lat, lon)));
+	}
+
+	private static CompletableFuture<WeatherData> fetchWeatherAsync(double lat, double lon, String city,
+			String country) {
+		String url = FORECAST_URL + "?latitude=" + coord(lat) + "&longitude=" + coord(lon) + FORECAST_PARAMS;
+
+		// Parse straight off the connection instead of buffering the whole body
+		return fetchAsync(FORECAST, true, url, FORECAST_DEADLINE, in -> {
+			WeatherData d = ForecastParser.parse(in, city, country);
+			d.setCoordinates(lat, lon);
+			CACHE.put(lat, lon, d);
+			return d;
+		});
+	}
+
+	/**
+	 * @return The forecast cache used by this service, e.g. for statistics.
+	 */
+	public static ForecastCache getCache() {
+		return CACHE;
+	}
+
+	/**
+	 * @return The guarded endpoints (ip-api, geocoding, forecast), e.g. for
+	 *         statistics.
+	 */
+	public static List<Endpoint> getEndpoints() {
+		return List.of(IP_API, GEOCODING, FORECAST);
+	}
+
+	/**
+	 * @return Coalescing of concurrent forecast calls, e.g. for the number of
+	 *         requests saved.
+	 */
+	public static SingleFlight<Long, WeatherData> getForecastFlights() {
+		return FORECAST_FLIGHTS;
+	}
+
+	/**
+	 * @return Coalescing of concurrent online city searches.
+	 */
+	public static SingleFlight<String, List<CityResult>> getSearchFlights() {
+		return SEARCH_FLIGHTS;
+	}
+
+	/**
+	 * Fetches forecasts for many locations. Open-Meteo accepts comma-separated
+	 * coordinate lists, so locations are packed into as few requests as the URL
+	 * limits allow and each response is parsed in a single streaming pass.
+	 *
+	 * @param cities The locations to fetch.
+	 * @return One WeatherData per city, in the same order.
+	 * @throws Exception If any request or parse fails.
+	 */
+	public static List<WeatherData> getWeatherBatch(List<CityResult> cities) throws Exception {
+		return await(getWeatherBatchAsync(cities));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getWeatherBatch(List)}. The packed
+	 * requests run concurrently.
+	 */
+	public static CompletableFuture<List<WeatherData>> getWeatherBatchAsync(List<CityResult> cities) {
+		// Serve what we can from the cache and only fetch the rest
+		WeatherData[] all = new WeatherData[cities.size()];
+		List<CityResult> missing = new ArrayList<>();
+		List<Integer> missingIdx = new ArrayList<>();
+		for (int i = 0; i < cities.size(); i++) {
+			CityResult c = cities.get(i);
+			WeatherData cached = CACHE.get(c.getLat(), c.getLon());
+			if (cached != null) {
+				all[i] = cached.withLocation(c.getName(), c.getCountry(), c.getLat(), c.getLon());
+			} else {
+				missing.add(c);
+				missingIdx.add(i);
 			}
 		}
 
-		if (startIdx != -1) {
-			for (int i = 0; i < 24; i++) {
-				int idx = startIdx + i;
-				if (idx >= hTime.length())
+		List<CompletableFuture<List<WeatherData>>> parts = new ArrayList<>();
+		int base = FORECAST_URL.length() + FORECAST_PARAMS.length() + "?latitude=&longitude=".length();
+
+		int from = 0;
+		while (from < missing.size()) {
+			StringBuilder lats = new StringBuilder();
+			StringBuilder lons = new StringBuilder();
+			int to = from;
+			while (to < missing.size() && to - from < MAX_BATCH_LOCATIONS) {
+				String la = coord(missing.get(to).getLat());
+				String lo = coord(missing.get(to).getLon());
+				int extra = la.length() + lo.length() + (to > from ? 2 : 0);
+				if (to > from && base + lats.length() + lons.length() + extra > MAX_URL_LENGTH)
 					break;
+				if (to > from) {
+					lats.append(',');
+					lons.append(',');
+				}
+				lats.append(la);
+				lons.append(lo);
+				to++;
+			}
 
-				String rawT = hTime.getString(idx);
-				// "Now" for first item, otherwise parse hour (e.g. 14:00)
-				String display = (i == 0) ? "Now" : rawT.substring(11, 16);
+			List<CityResult> chunk = missing.subList(from, to);
+			String url = FORECAST_URL + "?latitude=" + lats + "&longitude=" + lons + FORECAST_PARAMS;
+			// Packed requests are heavy: retried, but never hedged
+			parts.add(fetchAsync(FORECAST, false, url, BATCH_DEADLINE, in -> ForecastParser.parseBatch(in, chunk)));
+			from = to;
+		}
 
-				if (!display.equals("Now")) {
-					int hInt = Integer.parseInt(display.substring(0, 2));
-					String suffix = (hInt >= 12) ? " PM" : " AM";
-					int h12 = (hInt > 12) ? hInt - 12 : ((hInt == 0) ? 12 : hInt);
-					display = h12 + suffix;
+		return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0])).thenApply(_ -> {
+			int n = 0;
+			for (CompletableFuture<List<WeatherData>> p : parts) {
+				for (WeatherData d : p.join()) {
+					CityResult c = missing.get(n);
+					d.setCoordinates(c.getLat(), c.getLon());
+					CACHE.put(c.getLat(), c.getLon(), d);
+					// Callers get their own copy, as on the single-city path
+					all[missingIdx.get(n++)] = d.withLocation(c.getName(), c.getCountry(), c.getLat(), c.getLon());
 				}
-
-				data.addHourly(display, hTemp.optDouble(idx, 0.0), hCode.optInt(idx, 0), hRain.optInt(idx, 0),
-						hWind.optDouble(idx, 0.0));
 			}
-		}
+			return List.of(all);
+		});
+	}
 
-		return data;
+	/**
+	 * Formats a coordinate for the query string, rounded to 4 decimals (about
+	 * 11 m) to keep packed URLs short.
+	 */
+	private static String coord(double v) {
+		return Double.toString(Math.round(v * 1e4) / 1e4);
 	}
 
 	/**
-	 * Executes an HTTP GET request.
+	 * Executes an HTTP GET request through an endpoint's rate limit, retries and
+	 * breaker.
 	 * 
-	 * @param urlString The URL to fetch.
-	 * @return The response body as a String.
-	 * @throws Exception If connection fails.
+	 * @param endpoint The endpoint guarding the URL.
+	 * @param hedge    Whether a slow attempt may be raced by a second one.
+	 * @param url      The URL to fetch.
+	 * @param deadline Time allowed for the whole call, retries included.
+	 * @param parser   Consumes the (decompressed) response body.
+	 * @return The parsed result.
 	 */
-	private static String makeRequest(String urlString) throws Exception {
-		HttpURLConnection conn = (HttpURLConnection) URI.create(urlString).toURL().openConnection();
-		conn.setRequestMethod("GET");
-		conn.setConnectTimeout(5000); // 5 sec timeout
+	static <T> CompletableFuture<T> fetchAsync(Endpoint endpoint, boolean hedge, String url,
+			Duration deadline, BodyParser<T> parser) {
+		return endpoint.call(deadline, hedge, timeout -> fetchOnce(endpoint.getName(), url, timeout, parser));
+	}
 
-		try (java.util.Scanner scanner = new java.util.Scanner(conn.getInputStream()).useDelimiter("\\A")) {
-			return scanner.hasNext() ? scanner.next() : "";
+	/**
+	 * Executes one HTTP GET request on the shared client and parses the body as
+	 * it arrives. The deadline covers the whole exchange; when it expires the
+	 * body stream is closed so a stalled read cannot pin a thread.
+	 * The time until the response headers arrive is recorded as
+	 * {@code net.<endpoint>} and a {@link FetchEvent}; reading and parsing the
+	 * body as {@code parse.<endpoint>} and a {@link ParseEvent}.
+	 */
+	private static <T> CompletableFuture<T> fetchOnce(String endpoint, String url, Duration deadline,
+			BodyParser<T> parser) {
+		LatencyHistogram net = Metrics.timer("net." + endpoint);
+		LatencyHistogram parse = Metrics.timer("parse." + endpoint);
+		URI uri = URI.create(url);
+		HttpRequest.Builder req = HttpRequest.newBuilder(uri).timeout(deadline).header("Accept-Encoding", "gzip")
+				.GET();
+		if ("http".equals(uri.getScheme())) {
+			// Skip the h2c upgrade dance on plain-text endpoints
+			req.version(HttpClient.Version.HTTP_1_1);
 		}
+
+		AtomicReference<InputStream> body = new AtomicReference<>();
+		FetchEvent fetch = new FetchEvent();
+		fetch.begin();
+		long start = System.nanoTime();
+		CompletableFuture<HttpResponse<InputStream>> send = CLIENT.sendAsync(req.build(),
+				HttpResponse.BodyHandlers.ofInputStream());
+		send.whenComplete((resp, e) -> {
+			net.recordSince(start);
+			fetch.end();
+			if (fetch.shouldCommit()) {
+				fetch.endpoint = endpoint;
+				fetch.url = url;
+				fetch.status = resp != null ? resp.statusCode() : 0;
+				fetch.commit();
+			}
+		});
+		CompletableFuture<T> result = send.thenApply(resp -> {
+			ParseEvent parsing = new ParseEvent();
+			parsing.begin();
+			long parseStart = System.nanoTime();
+			ReadWatch watch = new ReadWatch(resp.body());
+			try (InputStream in = openBody(resp, watch)) {
+				body.set(in);
+				T parsed = parser.parse(in);
+				parse.recordSince(parseStart);
+				parsing.endpoint = endpoint;
+				parsing.commit();
+				return parsed;
+			} catch (IOException | RuntimeException e) {
+				// A broken connection is worth retrying; bytes that do not parse are not
+				if (e instanceof IOException io && (watch.failed || io instanceof Endpoint.StatusException))
+					throw new UncheckedIOException(io);
+				throw new UncheckedIOException(new Endpoint.BadResponseException(
+						"Unreadable response from " + resp.uri().getHost() + ": " + e.getMessage(), e));
+			}
+		}).orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+
+		result.whenComplete((r, e) -> {
+			if (e != null) {
+				// Cancelled or timed out: abort the exchange instead of letting it run on
+				send.cancel(true);
+			}
+			InputStream in = body.get();
+			if (e != null && in != null) {
+				try {
+					in.close();
+				} catch (IOException ignored) {
+					// Already failing
+				}
+			}
+		});
+		return result;
 	}
 
 	/**
-	 * Helper to format ISO DateTime to a readable time string (e.g. "06:30 AM").
+	 * Checks the status and unwraps gzip content encoding.
+	 *
+	 * @param in The response body.
 	 */
-	private static String parseTime(String iso) {
-		return LocalDateTime.parse(iso, DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-				.format(DateTimeFormatter.ofPattern("hh:mm a"));
+	private static InputStream openBody(HttpResponse<InputStream> resp, InputStream in) throws IOException {
+		if (resp.statusCode() / 100 != 2) {
+			in.close();
+			throw new Endpoint.StatusException(resp.statusCode(),
+					"HTTP " + resp.statusCode() + " from " + resp.uri().getHost());
+		}
+		boolean gzip = resp.headers().firstValue("Content-Encoding").map("gzip"::equalsIgnoreCase).orElse(false);
+		return gzip ? new GZIPInputStream(in, 8192) : in;
+	}
+
+	/**
+	 * Notes whether reading the connection itself failed, as opposed to parsing
+	 * what it delivered.
+	 */
+	private static final class ReadWatch extends FilterInputStream {
+		volatile boolean failed;
+
+		ReadWatch(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			try {
+				return super.read();
+			} catch (IOException e) {
+				failed = true;
+				throw e;
+			}
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			try {
+				return super.read(b, off, len);
+			} catch (IOException e) {
+				failed = true;
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Applies {@code fn} to the result of {@code src}; cancelling the returned
+	 * future cancels {@code src}.
+	 */
+	private static <A, B> CompletableFuture<B> map(CompletableFuture<A> src, Function<A, B> fn) {
+		return cancelling(src, src.thenApply(fn));
+	}
+
+	/**
+	 * Makes cancelling {@code derived}, a stage built on {@code src}, cancel
+	 * {@code src} too and so abort its request. Dependent stages do not do that
+	 * by themselves.
+	 */
+	private static <T> CompletableFuture<T> cancelling(CompletableFuture<?> src, CompletableFuture<T> derived) {
+		derived.whenComplete((r, e) -> {
+			if (derived.isCancelled())
+				src.cancel(true);
+		});
+		return derived;
+	}
+
+	private static String readString(InputStream in) throws IOException {
+		return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Blocks on a future, rethrowing the original failure rather than the
+	 * CompletionException wrapper.
+	 */
+	private static <T> T await(CompletableFuture<T> f) throws Exception {
+		try {
+			return f.join();
+		} catch (CompletionException e) {
+			Throwable cause = unwrap(e);
+			if (cause instanceof Exception ex)
+				throw ex;
+			throw e;
+		}
+	}
+
+	private static Throwable unwrap(Throwable e) {
+		while ((e instanceof CompletionException || e instanceof UncheckedIOException) && e.getCause() != null)
+			e = e.getCause();
+		return e;
 	}
 }
\ No newline at end of file
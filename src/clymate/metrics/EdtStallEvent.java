@@ -0,0 +1,26 @@
+package clymate.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a stretch of time in which the Event Dispatch Thread did not
+ * get to a queued event. The event's own stack trace would be the watchdog's,
+ * so the EDT's stack, captured during the stall, is recorded as a field.
+ *
+ * @author Malith Dissanayake
+ */
+@Name("clymate.EdtStall")
+@Label("EDT Stall")
+@Category({ "ClyMate", "UI" })
+@Description("The Event Dispatch Thread was busy for longer than the stall threshold")
+@StackTrace(false)
+public final class EdtStallEvent extends jdk.jfr.Event {
+
+	@Label("EDT Stack")
+	@Description("What the Event Dispatch Thread was running when the stall was detected")
+	public String edtStack;
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package clymate.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one HTTP attempt, from sending the request until the response
+ * headers arrive (or the attempt fails).
+ *
+ * @author Malith Dissanayake
+ */
+@Name("clymate.Fetch")
+@Label("Fetch")
+@Category({ "ClyMate", "Network" })
+@Description("One HTTP request attempt, until its response headers arrive")
+public final class FetchEvent extends jdk.jfr.Event {
+
+	@Label("Endpoint")
+	public String endpoint;
+
+	@Label("URL")
+	public String url;
+
+	@Label("Status")
+	@Description("HTTP status, or 0 if no response arrived")
+	public int status;
+}
\ No newline at end of file
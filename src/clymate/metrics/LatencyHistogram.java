@@ -0,0 +1,90 @@
+package clymate.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free latency histogram with log-linear buckets: exact below 32 and
+ * above that at most 1/16 (6.25%) too high, since each power of two is split
+ * into 16 buckets and a percentile reports its bucket's upper bound. It covers
+ * microseconds to hours in about a thousand counters. Recording is one atomic
+ * increment, so request threads never contend on a lock to report their
+ * latency.
+ *
+ * @author Malith Dissanayake
+ */
+public final class LatencyHistogram {
+
+	// 16 sub-buckets per power of two above SUB
+	private static final int SUB = 32;
+	private static final int HALF = SUB / 2;
+
+	private final AtomicLongArray counts = new AtomicLongArray(index(Long.MAX_VALUE) + 1);
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/** Records one value (negative values count as 0). */
+	public void record(long value) {
+		long v = Math.max(0, value);
+		counts.incrementAndGet(index(v));
+		max.accumulate(v);
+	}
+
+	/**
+	 * Records the microseconds elapsed since {@code startNanos}.
+	 *
+	 * @param startNanos A {@link System#nanoTime()} reading.
+	 */
+	public void recordSince(long startNanos) {
+		record((System.nanoTime() - startNanos) / 1000);
+	}
+
+	/** @return Values recorded so far. */
+	public long count() {
+		long n = 0;
+		for (int i = 0; i < counts.length(); i++)
+			n += counts.get(i);
+		return n;
+	}
+
+	/** @return The largest value recorded. */
+	public long max() {
+		return max.get();
+	}
+
+	/**
+	 * @param p Quantile between 0 and 1, e.g. 0.99.
+	 * @return The upper bound of the bucket holding the quantile, or 0 if empty.
+	 */
+	public long percentile(double p) {
+		long[] snap = new long[counts.length()];
+		long total = 0;
+		for (int i = 0; i < snap.length; i++)
+			total += snap[i] = counts.get(i);
+		if (total == 0)
+			return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(p * total));
+		long seen = 0;
+		for (int i = 0; i < snap.length; i++) {
+			seen += snap[i];
+			if (seen >= rank)
+				return Math.min(upperBound(i), max());
+		}
+		return max();
+	}
+
+	private static int index(long v) {
+		if (v < SUB)
+			return (int) v;
+		int shift = 63 - Long.numberOfLeadingZeros(v) - 4;
+		return shift * HALF + (int) (v >>> shift);
+	}
+
+	private static long upperBound(int i) {
+		if (i < SUB)
+			return i;
+		int shift = i / HALF - 1;
+		long m = i - (long) shift * HALF;
+		return ((m + 1) << shift) - 1;
+	}
+}
\ No newline at end of file
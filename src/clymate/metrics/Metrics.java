@@ -0,0 +1,187 @@
+package clymate.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide registry of counters, latency timers and gauges. Metrics are
+ * created on first use and live for the whole run; hot paths should keep the
+ * returned object in a field rather than looking it up by name each time.
+ * Updating a metric never takes a lock.
+ *
+ * <p>
+ * Timers record microseconds. Names are dotted and grouped by area, e.g.
+ * {@code net.forecast} or {@code ui.populate}. The registry can be read
+ * through JMX ({@code clymate:type=Metrics}), a periodic dump to stdout, or
+ * {@link #snapshot()}.
+ *
+ * @author Malith Dissanayake
+ */
+public final class Metrics {
+
+	private static final Map<String, LongAdder> COUNTERS = new ConcurrentSkipListMap<>();
+	private static final Map<String, LatencyHistogram> TIMERS = new ConcurrentSkipListMap<>();
+	private static final Map<String, LongSupplier> GAUGES = new ConcurrentSkipListMap<>();
+
+	private static ScheduledExecutorService logger;
+
+	private Metrics() {
+	}
+
+	/** @return The counter called {@code name}, created if needed. */
+	public static LongAdder counter(String name) {
+		return COUNTERS.computeIfAbsent(name, _ -> new LongAdder());
+	}
+
+	/** @return The latency timer called {@code name}, created if needed. */
+	public static LatencyHistogram timer(String name) {
+		return TIMERS.computeIfAbsent(name, _ -> new LatencyHistogram());
+	}
+
+	/**
+	 * Publishes a value that is read when metrics are reported, e.g. a cache
+	 * size. Registering a name again replaces the earlier gauge.
+	 */
+	public static void gauge(String name, LongSupplier value) {
+		GAUGES.put(name, value);
+	}
+
+	/** @return Names of the timers registered so far, in order. */
+	public static Iterable<String> timerNames() {
+		return TIMERS.keySet();
+	}
+
+	/** @return Current values of the counters and gauges, by name. */
+	public static Map<String, Long> values() {
+		Map<String, Long> out = new LinkedHashMap<>();
+		COUNTERS.forEach((n, c) -> out.put(n, c.sum()));
+		GAUGES.forEach((n, g) -> out.put(n, g.getAsLong()));
+		return out;
+	}
+
+	/**
+	 * Reads every metric. Timers expand to {@code .count}, {@code .p50},
+	 * {@code .p90}, {@code .p99} and {@code .max} entries.
+	 *
+	 * @return Values by name, in name order within counters, timers and gauges.
+	 */
+	public static Map<String, Long> snapshot() {
+		Map<String, Long> out = new LinkedHashMap<>();
+		COUNTERS.forEach((n, c) -> out.put(n, c.sum()));
+		TIMERS.forEach((n, t) -> {
+			out.put(n + ".count", t.count());
+			out.put(n + ".p50", t.percentile(0.50));
+			out.put(n + ".p90", t.percentile(0.90));
+			out.put(n + ".p99", t.percentile(0.99));
+			out.put(n + ".max", t.max());
+		});
+		GAUGES.forEach((n, g) -> out.put(n, g.getAsLong()));
+		return out;
+	}
+
+	/** @return Every metric, one per line, for logs. */
+	public static String dump() {
+		StringBuilder sb = new StringBuilder("ClyMate metrics:");
+		COUNTERS.forEach((n, c) -> sb.append("\n  ").append(n).append(" = ").append(c.sum()));
+		TIMERS.forEach((n, t) -> sb.append(String.format("%n  %s: n=%d p50=%dus p90=%dus p99=%dus max=%dus", n,
+				t.count(), t.percentile(0.50), t.percentile(0.90), t.percentile(0.99), t.max())));
+		GAUGES.forEach((n, g) -> sb.append("\n  ").append(n).append(" = ").append(g.getAsLong()));
+		return sb.toString();
+	}
+
+	/**
+	 * Prints {@link #dump()} to stdout every {@code period}, on a daemon thread.
+	 * Calling it again changes the period.
+	 */
+	public static synchronized void startLogging(Duration period) {
+		if (logger != null)
+			logger.shutdownNow();
+		logger = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "metrics-log");
+			t.setDaemon(true);
+			return t;
+		});
+		long ms = period.toMillis();
+		logger.scheduleAtFixedRate(() -> System.out.println(dump()), ms, ms, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Publishes the registry as the MBean {@code clymate:type=Metrics}, one
+	 * read-only attribute per {@link #snapshot()} entry. Does nothing if it is
+	 * already registered.
+	 */
+	public static synchronized void registerJmx() {
+		try {
+			ObjectName name = new ObjectName("clymate:type=Metrics");
+			if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+				ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), name);
+		} catch (JMException e) {
+			System.err.println("Metrics not published over JMX: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Read-only view of the registry. Attributes are listed afresh on every
+	 * {@link #getMBeanInfo()}, so metrics created later show up too.
+	 */
+	private static final class Bean implements DynamicMBean {
+		@Override
+		public Object getAttribute(String attribute) throws AttributeNotFoundException {
+			Long v = snapshot().get(attribute);
+			if (v == null)
+				throw new AttributeNotFoundException(attribute);
+			return v;
+		}
+
+		@Override
+		public AttributeList getAttributes(String[] attributes) {
+			Map<String, Long> snap = snapshot();
+			AttributeList list = new AttributeList();
+			for (String a : attributes) {
+				Long v = snap.get(a);
+				if (v != null)
+					list.add(new Attribute(a, v));
+			}
+			return list;
+		}
+
+		@Override
+		public MBeanInfo getMBeanInfo() {
+			MBeanAttributeInfo[] attrs = snapshot().keySet().stream()
+					.map(n -> new MBeanAttributeInfo(n, "long", n, true, false, false))
+					.toArray(MBeanAttributeInfo[]::new);
+			return new MBeanInfo(Metrics.class.getName(), "ClyMate metrics", attrs, null, null, null);
+		}
+
+		@Override
+		public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+			throw new AttributeNotFoundException("Metrics are read-only");
+		}
+
+		@Override
+		public AttributeList setAttributes(AttributeList attributes) {
+			return new AttributeList();
+		}
+
+		@Override
+		public Object invoke(String actionName, Object[] params, String[] signature) {
+			throw new UnsupportedOperationException(actionName);
+		}
+	}
+}
\ No newline at end of file
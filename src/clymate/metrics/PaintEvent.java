@@ -0,0 +1,26 @@
+package clymate.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for painting a large part of the window. Paints shorter than a
+ * frame at 60 Hz are not recorded by default.
+ *
+ * @author Malith Dissanayake
+ */
+@Name("clymate.Paint")
+@Label("Paint")
+@Category({ "ClyMate", "UI" })
+@Description("Painting one part of the window")
+@Threshold("16 ms")
+@StackTrace(false)
+public final class PaintEvent extends jdk.jfr.Event {
+
+	@Label("Component")
+	public String component;
+}
\ No newline at end of file
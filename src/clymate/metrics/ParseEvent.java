@@ -0,0 +1,22 @@
+package clymate.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for reading and parsing one response body. Bodies are parsed as
+ * they stream in, so this includes the time spent waiting for the network.
+ *
+ * @author Malith Dissanayake
+ */
+@Name("clymate.Parse")
+@Label("Parse")
+@Category({ "ClyMate", "Network" })
+@Description("Reading and parsing one response body")
+public final class ParseEvent extends jdk.jfr.Event {
+
+	@Label("Endpoint")
+	public String endpoint;
+}
\ No newline at end of file
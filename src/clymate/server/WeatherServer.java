@@ -0,0 +1,350 @@
+package clymate.server;
+
+import clymate.backend.AssetUtils;
+import clymate.backend.Endpoint;
+import clymate.backend.ForecastCache;
+import clymate.backend.SearchController;
+import clymate.backend.SingleFlight;
+import clymate.backend.WeatherData;
+import clymate.backend.WeatherService;
+import clymate.metrics.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Serves the forecast, search and advice logic of the app as JSON over HTTP,
+ * for use without the Swing UI. Every request runs on its own virtual thread,
+ * so requests waiting on the upstream API cost no platform thread.
+ *
+ * <p>
+ * Encoded forecasts are cached per forecast grid cell and location name until
+ * the next top of the hour, when {@link ForecastCache} entries expire too, so
+ * a repeated request is a map lookup and a write.
+ *
+ * <ul>
+ * <li>{@code GET /forecast?lat=..&lon=..[&name=..&country=..]}</li>
+ * <li>{@code GET /search?q=..}</li>
+ * <li>{@code GET /advice?lat=..&lon=..}</li>
+ * <li>{@code GET /stats}: request count and latency percentiles in
+ * microseconds.</li>
+ * </ul>
+ *
+ * @author Malith Dissanayake
+ */
+public final class WeatherServer {
+
+	private static final long HOUR_MILLIS = 3_600_000L;
+
+	static {
+		// Headers and body go out in separate writes; with Nagle on, each response
+		// waits out the client's delayed ACK (~40 ms). Read once by the JDK server.
+		if (System.getProperty("sun.net.httpserver.nodelay") == null)
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	/** Thrown by handlers to answer with an error status. */
+	private static final class HttpError extends Exception {
+		private static final long serialVersionUID = 1L;
+		final int status;
+
+		HttpError(int status, String message) {
+			super(message, null, false, false);
+			this.status = status;
+		}
+	}
+
+	private static final class Encoded {
+		final byte[] body;
+		final long expiresAt;
+
+		Encoded(byte[] body, long expiresAt) {
+			this.body = body;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Map<String, Encoded> responses;
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder responseHits = new LongAdder();
+	private final LongAdder responseMisses = new LongAdder();
+
+	/**
+	 * @param address      Where to listen.
+	 * @param cacheEntries Encoded forecasts kept; the least recently used is
+	 *                     evicted beyond this.
+	 * @throws IOException If the address cannot be bound.
+	 */
+	public WeatherServer(InetSocketAddress address, int cacheEntries) throws IOException {
+		this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Encoded> eldest) {
+				return size() > cacheEntries;
+			}
+		};
+		server = HttpServer.create(address, 1024);
+		server.setExecutor(executor);
+		server.createContext("/forecast", timed(this::forecast));
+		server.createContext("/search", timed(this::search));
+		server.createContext("/advice", timed(this::advice));
+		server.createContext("/stats", ex -> send(ex, 200, stats()));
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Stops accepting connections and waits up to {@code delaySeconds} for
+	 * requests in progress.
+	 */
+	public void stop(int delaySeconds) {
+		server.stop(delaySeconds);
+		executor.shutdown();
+	}
+
+	/** @return The bound address, e.g. to find an ephemeral port. */
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	/**
+	 * @return Requests served, errors and latency percentiles as JSON.
+	 */
+	public String stats() {
+		ForecastCache fc = WeatherService.getCache();
+		JSONObject o = new JSONObject();
+		o.put("requests", requests.sum());
+		o.put("errors", errors.sum());
+		o.put("latencyMicros", new JSONObject().put("p50", latency.percentile(0.50))
+				.put("p90", latency.percentile(0.90)).put("p99", latency.percentile(0.99))
+				.put("p999", latency.percentile(0.999)).put("max", latency.max()));
+		o.put("responseCache", new JSONObject().put("hits", responseHits.sum()).put("misses", responseMisses.sum())
+				.put("size", responseCacheSize()));
+		o.put("forecastCache", new JSONObject().put("hits", fc.getHits()).put("misses", fc.getMisses())
+				.put("size", fc.size()));
+		o.put("coalesced", new JSONObject().put("forecast", flights(WeatherService.getForecastFlights()))
+				.put("search", flights(WeatherService.getSearchFlights())));
+		JSONObject upstream = new JSONObject();
+		for (Endpoint ep : WeatherService.getEndpoints())
+			upstream.put(ep.getName(), new JSONObject().put("state", ep.stateName()).put("calls", ep.getCalls())
+					.put("attempts", ep.getAttempts()).put("retries", ep.getRetries()).put("hedges", ep.getHedges())
+					.put("throttled", ep.getThrottled()).put("rejected", ep.getRejected()));
+		o.put("upstream", upstream);
+		return o.toString();
+	}
+
+	private static JSONObject flights(SingleFlight<?, ?> f) {
+		return new JSONObject().put("calls", f.getCalls()).put("saved", f.getSaved()).put("inFlight", f.getInFlight());
+	}
+
+	/** @return A one-line summary for logs. */
+	@Override
+	public String toString() {
+		return String.format("WeatherServer[requests=%d, errors=%d, p50=%dus, p99=%dus, max=%dus]", requests.sum(),
+				errors.sum(), latency.percentile(0.50), latency.percentile(0.99), latency.max());
+	}
+
+	// -- Handlers --
+
+	@FunctionalInterface
+	private interface Handler {
+		byte[] handle(Map<String, String> query) throws Exception;
+	}
+
+	private byte[] forecast(Map<String, String> q) throws Exception {
+		double lat = coordinate(q, "lat", 90);
+		double lon = coordinate(q, "lon", 180);
+		String name = q.getOrDefault("name", "");
+		String country = q.getOrDefault("country", "");
+		// Same grid as the forecast cache, so both agree on what is "the same place"
+		String key = Long.toHexString(ForecastCache.key(lat, lon)) + '|' + name + '|' + country;
+
+		long now = System.currentTimeMillis();
+		synchronized (responses) {
+			Encoded e = responses.get(key);
+			if (e != null && e.expiresAt > now) {
+				responseHits.increment();
+				return e.body;
+			}
+		}
+		responseMisses.increment();
+
+		WeatherData d = WeatherService.getWeather(lat, lon, name, country);
+		byte[] body = toJson(d).toString().getBytes(StandardCharsets.UTF_8);
+		synchronized (responses) {
+			responses.put(key, new Encoded(body, (now / HOUR_MILLIS + 1) * HOUR_MILLIS));
+		}
+		return body;
+	}
+
+	private byte[] search(Map<String, String> q) throws Exception {
+		String query = q.get("q");
+		if (!SearchController.isValidInput(query))
+			throw new HttpError(400, "q must be a city name");
+		JSONArray a = new JSONArray();
+		for (WeatherService.CityResult c : WeatherService.searchCities(query)) {
+			a.put(new JSONObject().put("name", c.getName()).put("label", c.toString()).put("country", c.getCountry())
+					.put("lat", c.getLat()).put("lon", c.getLon()));
+		}
+		return a.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private byte[] advice(Map<String, String> q) throws Exception {
+		WeatherData d = WeatherService.getWeather(coordinate(q, "lat", 90), coordinate(q, "lon", 180), "", "");
+		return new JSONObject().put("advice", AssetUtils.getSmartAdvice(d)).toString()
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	// -- Plumbing --
+
+	/**
+	 * Wraps a handler with method checks, error mapping and latency recording.
+	 */
+	private HttpHandler timed(Handler h) {
+		return ex -> {
+			long start = System.nanoTime();
+			int status = 200;
+			try {
+				if (!"GET".equals(ex.getRequestMethod()))
+					throw new HttpError(405, "GET only");
+				byte[] body = h.handle(parseQuery(ex.getRequestURI().getRawQuery()));
+				send(ex, 200, body);
+			} catch (Exception e) {
+				status = statusOf(e);
+				if (status == 500) {
+					System.err.println("Internal error on " + ex.getRequestURI() + ":");
+					e.printStackTrace();
+				}
+				send(ex, status, new JSONObject().put("error", messageOf(status, e)).toString());
+			} finally {
+				requests.increment();
+				if (status >= 500)
+					errors.increment();
+				latency.record((System.nanoTime() - start) / 1000);
+			}
+		};
+	}
+
+	private static int statusOf(Exception e) {
+		if (e instanceof HttpError he)
+			return he.status;
+		if (e instanceof HttpTimeoutException || e instanceof TimeoutException)
+			return 504;
+		if (e instanceof Endpoint.OpenCircuitException)
+			return 503; // Failing fast until the upstream API recovers
+		if (e instanceof IOException)
+			return 502; // The upstream API failed us: unreachable, an error status or a bad body
+		return 500; // A bug here, not upstream
+	}
+
+	private static String messageOf(int status, Exception e) {
+		if (e instanceof HttpError)
+			return e.getMessage();
+		if (status == 500)
+			return "Internal error";
+		return "Upstream request failed: " + e.getClass().getSimpleName();
+	}
+
+	private static void send(HttpExchange ex, int status, String body) throws IOException {
+		send(ex, status, body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void send(HttpExchange ex, int status, byte[] body) throws IOException {
+		ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		ex.sendResponseHeaders(status, body.length);
+		try (OutputStream out = ex.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static Map<String, String> parseQuery(String raw) {
+		Map<String, String> q = new HashMap<>();
+		if (raw == null || raw.isEmpty())
+			return q;
+		for (String pair : raw.split("&")) {
+			int eq = pair.indexOf('=');
+			String k = eq < 0 ? pair : pair.substring(0, eq);
+			String v = eq < 0 ? "" : pair.substring(eq + 1);
+			q.put(URLDecoder.decode(k, StandardCharsets.UTF_8), URLDecoder.decode(v, StandardCharsets.UTF_8));
+		}
+		return q;
+	}
+
+	private static double coordinate(Map<String, String> q, String name, double limit) throws HttpError {
+		try {
+			double v = Double.parseDouble(q.get(name));
+			if (v >= -limit && v <= limit)
+				return v;
+		} catch (NullPointerException | NumberFormatException e) {
+			// Reported below
+		}
+		throw new HttpError(400, name + " must be a number between -" + (int) limit + " and " + (int) limit);
+	}
+
+	private int responseCacheSize() {
+		synchronized (responses) {
+			return responses.size();
+		}
+	}
+
+	/**
+	 * Encodes a forecast. Series are emitted whole, keyed by epoch seconds, so a
+	 * cached body stays valid for the rest of the hour.
+	 */
+	static JSONObject toJson(WeatherData d) {
+		JSONObject o = new JSONObject();
+		o.put("city", d.getCityName());
+		o.put("country", d.getCountry());
+		o.put("lat", d.getLatitude());
+		o.put("lon", d.getLongitude());
+		o.put("utcOffsetSeconds", d.getUtcOffset());
+		o.put("fetchedAt", d.getFetchedAt());
+		o.put("advice", AssetUtils.getSmartAdvice(d));
+		o.put("current", new JSONObject().put("temperature", d.getCurrentTemp()).put("humidity", d.getHumidity())
+				.put("windSpeed", d.getWindSpeed()).put("weatherCode", d.getWeatherCode())
+				.put("condition", AssetUtils.getWeatherConditionText(d.getWeatherCode()))
+				.put("uvIndex", d.getUvIndex()).put("precipitationProbability", d.getPrecipProb())
+				.put("sunrise", d.getSunrise()).put("sunset", d.getSunset())
+				.put("yesterdayTemperature", d.getYesterdayTemp()));
+
+		JSONArray hourly = new JSONArray();
+		for (int i = 0; i < d.getHourlyCount(); i++) {
+			hourly.put(new JSONObject().put("time", d.getHourlyTime(i)).put("temperature", d.getHourlyTemp(i))
+					.put("windSpeed", d.getHourlyWind(i)).put("weatherCode", d.getHourlyCode(i))
+					.put("precipitationProbability", d.getHourlyRain(i)));
+		}
+		o.put("hourly", hourly);
+
+		JSONArray daily = new JSONArray();
+		for (int i = 0; i < d.getDailyCount(); i++) {
+			daily.put(new JSONObject().put("time", d.getDailyTime(i)).put("max", d.getDailyMax(i))
+					.put("min", d.getDailyMin(i)).put("windSpeed", d.getDailyWind(i))
+					.put("weatherCode", d.getDailyCode(i)).put("precipitationProbability", d.getDailyPrecip(i)));
+		}
+		o.put("daily", daily);
+		return o;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+package clymate.ui;
+
+import clymate.metrics.Metrics;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.Timer;
+
+/**
+ * The single clock behind every animation and periodic UI task in the app.
+ * Frame animations are ticked together, paced to the display's refresh rate,
+ * so their repaints land in the same frame and the RepaintManager coalesces
+ * them into one paint. Periodic tasks (the tip rotator, the error banner) share
+ * the same Swing timer; while no frame animation runs, it only wakes up when
+ * the next task is due.
+ *
+ * <p>
+ * A frame that starts more than half a period late counts the periods it
+ * missed as dropped. Both counts are published as the {@code ui.animator.frames}
+ * and {@code ui.animator.dropped} gauges; set
+ * {@code -Dclymate.animator.trace=true} to also log each late frame to stderr.
+ *
+ * <p>
+ * Must be used from the Event Dispatch Thread.
+ *
+ * @author Malith Dissanayake
+ */
+public final class Animator {
+
+	/**
+	 * A frame-paced animation.
+	 */
+	@FunctionalInterface
+	public interface Animation {
+		/**
+		 * Advances the animation to {@code now}.
+		 *
+		 * @param now Frame time in nanoseconds ({@link System#nanoTime()} base).
+		 * @return true to be ticked again next frame, false when finished.
+		 */
+		boolean tick(long now);
+	}
+
+	/**
+	 * Handle to a delayed or periodic task.
+	 */
+	public final class Task {
+		private final Runnable action;
+		private final long delay;
+		private final long period;
+		private long due;
+		private boolean active;
+
+		private Task(Runnable action, long delay, long period) {
+			this.action = action;
+			this.delay = delay;
+			this.period = period;
+		}
+
+		/** (Re)starts the task: it next runs one delay from now. */
+		public void restart() {
+			due = System.nanoTime() + delay;
+			if (!active) {
+				active = true;
+				tasks.add(this);
+			}
+			reschedule();
+		}
+
+		public void stop() {
+			if (active) {
+				active = false;
+				tasks.remove(this);
+			}
+		}
+
+		public boolean isActive() {
+			return active;
+		}
+	}
+
+	private static final long MS = 1_000_000L;
+	private static final Animator INSTANCE = new Animator();
+	private static final boolean TRACE = Boolean.getBoolean("clymate.animator.trace");
+
+	private final long framePeriod = refreshPeriod();
+	private final Timer timer;
+	private final List<Animation> animations = new ArrayList<>();
+	private final List<Task> tasks = new ArrayList<>();
+
+	// When the next frame should start, while animating
+	private long nextFrame;
+	// Written on the EDT only, read by metrics reporters
+	private volatile long frames;
+	private volatile long dropped;
+
+	private Animator() {
+		timer = new Timer(0, _ -> fire());
+		timer.setRepeats(false);
+		// Re-armed from inside its own event; coalescing could swallow the next one
+		timer.setCoalesce(false);
+		Metrics.gauge("ui.animator.frames", this::getFrameCount);
+		Metrics.gauge("ui.animator.dropped", this::getDroppedFrames);
+	}
+
+	/** @return The shared scheduler. */
+	public static Animator get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Starts ticking an animation every frame until it reports it is finished or
+	 * is stopped. Starting one that is already running does nothing.
+	 */
+	public void start(Animation a) {
+		if (animations.contains(a))
+			return;
+		if (animations.isEmpty())
+			nextFrame = System.nanoTime(); // First frame right away
+		animations.add(a);
+		reschedule();
+	}
+
+	public void stop(Animation a) {
+		animations.remove(a);
+	}
+
+	public boolean isRunning(Animation a) {
+		return animations.contains(a);
+	}
+
+	/**
+	 * Creates a task that runs once after {@code delayMs}, or every
+	 * {@code periodMs} after that if the period is positive. It does not run
+	 * until {@link Task#restart()} is called.
+	 */
+	public Task task(Runnable action, int delayMs, int periodMs) {
+		return new Task(action, delayMs * MS, Math.max(0, periodMs) * MS);
+	}
+
+	/** @return The refresh period frames are paced to, in nanoseconds. */
+	public long getFramePeriod() {
+		return framePeriod;
+	}
+
+	/** @return Frames ticked so far. */
+	public long getFrameCount() {
+		return frames;
+	}
+
+	/** @return Frames missed because a tick started late. */
+	public long getDroppedFrames() {
+		return dropped;
+	}
+
+	@Override
+	public String toString() {
+		return "Animator[" + 1_000_000_000L / framePeriod + " Hz, frames=" + frames + ", dropped=" + dropped
+				+ ", animations=" + animations.size() + ", tasks=" + tasks.size() + "]";
+	}
+
+	private void fire() {
+		long now = System.nanoTime();
+
+		if (!animations.isEmpty() && now - nextFrame >= -MS) {
+			long late = now - nextFrame;
+			if (late > framePeriod / 2) {
+				long missed = (late + framePeriod / 2) / framePeriod;
+				dropped += missed;
+				if (TRACE)
+					System.err.printf("Animator: frame %d started %.1f ms late, %d dropped%n", frames, late / 1e6,
+							missed);
+				nextFrame = now; // Re-lock to the current time instead of bursting to catch up
+			}
+			frames++;
+			nextFrame += framePeriod;
+			for (Animation a : animations.toArray(new Animation[0])) {
+				if (animations.contains(a) && !a.tick(now))
+					animations.remove(a);
+			}
+		}
+
+		for (Task t : tasks.toArray(new Task[0])) {
+			if (t.active && now - t.due >= 0) {
+				if (t.period > 0) {
+					t.due += t.period;
+					if (now - t.due >= 0)
+						t.due = now + t.period; // Skip runs missed while the EDT was busy
+				} else {
+					t.stop();
+				}
+				t.action.run();
+			}
+		}
+		reschedule();
+	}
+
+	/** Arms the timer for the next frame or task, or stops it if nothing is left. */
+	private void reschedule() {
+		long now = System.nanoTime();
+		long next = Long.MAX_VALUE;
+		if (!animations.isEmpty())
+			next = nextFrame;
+		for (Task t : tasks)
+			next = Math.min(next, t.due);
+
+		if (next == Long.MAX_VALUE) {
+			timer.stop();
+			return;
+		}
+		timer.setInitialDelay((int) Math.max(0, (next - now + MS - 1) / MS));
+		timer.restart();
+	}
+
+	private static long refreshPeriod() {
+		int hz = 60;
+		if (!GraphicsEnvironment.isHeadless()) {
+			DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+					.getDisplayMode();
+			if (mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN && mode.getRefreshRate() > 0)
+				hz = mode.getRefreshRate();
+		}
+		return 1_000_000_000L / hz;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package clymate.ui;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Paints the window background: the weather image scaled to the window with
+ * the theme's readability tint on top. The result is rendered once into a
+ * device-compatible image and then blitted 1:1, so ordinary repaints (tip
+ * rotation, scrolling, hover) no longer rescale the source image or alpha-fill
+ * the whole window. It is re-rendered only when the image, size, display
+ * scale or theme changes.
+ *
+ * <p>
+ * Must be used from the Event Dispatch Thread.
+ *
+ * @author Malith Dissanayake
+ */
+public final class BackgroundCompositor {
+
+	private static final Color DARK_TINT = new Color(0, 0, 0, 60);
+	private static final Color LIGHT_TINT = new Color(255, 255, 255, 40);
+
+	// What the cached surface was rendered from
+	private Image source;
+	private int width, height;
+	private boolean dark;
+
+	private BufferedImage surface;
+	private long renders;
+
+	/**
+	 * Paints the background over the area (0, 0, w, h).
+	 *
+	 * @param g    Graphics of the component being painted.
+	 * @param w    Width in user space.
+	 * @param h    Height in user space.
+	 * @param src  The background image, or null to paint the tint only.
+	 * @param dark true for the dark theme's tint.
+	 */
+	public void paint(Graphics g, int w, int h, Image src, boolean dark) {
+		if (w <= 0 || h <= 0)
+			return;
+		if (src == null) {
+			g.setColor(tint(dark));
+			g.fillRect(0, 0, w, h);
+			return;
+		}
+
+		Graphics2D g2 = (Graphics2D) g;
+		AffineTransform t = g2.getTransform();
+		// Render at device resolution so HiDPI screens get a 1:1 blit as well
+		int pw = (int) Math.ceil(w * t.getScaleX());
+		int ph = (int) Math.ceil(h * t.getScaleY());
+
+		if (surface == null || src != source || pw != width || ph != height || dark != this.dark) {
+			render(g2.getDeviceConfiguration(), src, pw, ph, dark);
+		}
+
+		if (t.getType() == AffineTransform.TYPE_TRANSLATION || t.isIdentity()) {
+			g2.drawImage(surface, 0, 0, null);
+		} else {
+			Graphics2D d = (Graphics2D) g2.create();
+			try {
+				d.setTransform(AffineTransform.getTranslateInstance(t.getTranslateX(), t.getTranslateY()));
+				d.drawImage(surface, 0, 0, null);
+			} finally {
+				d.dispose();
+			}
+		}
+	}
+
+	/** @return How many times the surface has been rendered. */
+	public long getRenderCount() {
+		return renders;
+	}
+
+	private void render(GraphicsConfiguration gc, Image src, int pw, int ph, boolean dark) {
+		// Reuse the old surface when only the content changed
+		if (surface == null || surface.getWidth() != pw || surface.getHeight() != ph) {
+			surface = gc != null ? gc.createCompatibleImage(pw, ph, Transparency.OPAQUE)
+					: new BufferedImage(pw, ph, BufferedImage.TYPE_INT_RGB);
+		}
+		Graphics2D g = surface.createGraphics();
+		try {
+			// Paid once per change, so a smoother filter than the default is affordable
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.drawImage(src, 0, 0, pw, ph, null);
+			g.setColor(tint(dark));
+			g.fillRect(0, 0, pw, ph);
+		} finally {
+			g.dispose();
+		}
+		source = src;
+		width = pw;
+		height = ph;
+		this.dark = dark;
+		renders++;
+	}
+
+	private static Color tint(boolean dark) {
+		return dark ? DARK_TINT : LIGHT_TINT;
+	}
+}
\ No newline at end of file
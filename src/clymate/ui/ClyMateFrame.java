@@ -2,6 +2,9 @@ package clymate.ui;
 
 import javax.swing.*;
 import clymate.backend.*;
+import clymate.metrics.LatencyHistogram;
+import clymate.metrics.Metrics;
+import clymate.metrics.PaintEvent;
 import clymate.ui.components.DashboardView;
 import clymate.ui.components.ShadowLabel;
 import java.awt.*;
@@ -9,6 +12,9 @@ import java.awt.event.*;
 import java.util.List;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.time.Duration;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import com.formdev.flatlaf.FlatClientProperties;
 import com.formdev.flatlaf.FlatDarkLaf;
 import com.formdev.flatlaf.FlatLightLaf;
@@ -19,10 +25,16 @@ import com.formdev.flatlaf.FlatLightLaf;
  *
  * @author Malith Dissanayake
  */
-public class ClyMateFrame extends JFrame {
+public class ClyMateFrame extends JFrame implements DashboardView.Host {
 
 	private static final long serialVersionUID = 1L;
 
+	// Whole-task deadlines, a little over the per-request ones in WeatherService
+	private static final Duration SEARCH_TIMEOUT = Duration.ofSeconds(10);
+	private static final Duration LOCATE_TIMEOUT = Duration.ofSeconds(5);
+
+	private static final LatencyHistogram backgroundPaint = Metrics.timer("ui.paint.background");
+
 	private DashboardView dashboard;
 	private JTextField searchBar;
 	private JButton themeToggle;
@@ -33,7 +45,14 @@ public class ClyMateFrame extends JFrame {
 	// Overlays for Search Results and Errors
 	private GlassPanel selectionPanel;
 	private GlassPanel errorPanel;
+	private final Animator.Task hideError = Animator.get().task(() -> errorPanel.setVisible(false), 3000, 0);
 	private JList<Object> cityList;
+	// True while the dropdown lists type-ahead suggestions (not history or results)
+	private boolean showingSuggestions;
+
+	// Live suggestions while typing, and the Enter search currently running
+	private TypeAhead typeAhead;
+	private TaskService.Task<List<WeatherService.CityResult>> searchTask;
 
 	// Application State
 	private boolean isDarkMode = true;
@@ -45,10 +64,23 @@ public class ClyMateFrame extends JFrame {
 	private JLabel stickyTemp;
 	private Color stickyBgColor = new Color(30, 30, 30, 220);
 
+	// Scaled and tinted background, rendered once per image, size and theme
+	private final BackgroundCompositor background = new BackgroundCompositor();
+	private Image shownBackground;
+
+	// Live latency percentiles, toggled with F3
+	private final MetricsOverlay metricsOverlay = new MetricsOverlay();
+
+	// Forecast from the previous session, shown until the first refresh
+	private final WeatherData snapshot;
+
 	/**
 	 * Constructor initializes the UI components and layout.
+	 * 
+	 * @param snapshot The last forecast persisted on disk, or null.
 	 */
-	public ClyMateFrame() {
+	public ClyMateFrame(WeatherData snapshot) {
+		this.snapshot = snapshot;
 		setTitle("ClyMate Weather");
 		setSize(1000, 750);
 		setMinimumSize(new Dimension(850, 600));
@@ -58,16 +90,24 @@ public class ClyMateFrame extends JFrame {
 		mainContent = new JLayeredPane() {
 			@Override
 			protected void paintComponent(Graphics g) {
+				PaintEvent event = new PaintEvent();
+				event.begin();
+				long start = System.nanoTime();
 				super.paintComponent(g);
-				// Paint Dynamic Background Image
-				ImageIcon img = AssetUtils.getImage(dashboard.getCurrentBg());
-				if (img != null) {
-					g.drawImage(img.getImage(), 0, 0, getWidth(), getHeight(), this);
+				// Paint Dynamic Background Image with a semi-transparent tint for readability.
+				// Until a new image is decoded the previous one stays on screen.
+				double scale = ((Graphics2D) g).getTransform().getScaleX();
+				Image img = AssetUtils.getBackground(dashboard.getCurrentBg(), (int) Math.ceil(getWidth() * scale),
+						(int) Math.ceil(getHeight() * scale), this::repaint);
+				if (img != null)
+					shownBackground = img;
+				background.paint(g, getWidth(), getHeight(), shownBackground, isDarkMode);
+				backgroundPaint.recordSince(start);
+				event.end();
+				if (event.shouldCommit()) {
+					event.component = "background";
+					event.commit();
 				}
-				// Overlay semi-transparent tint for readability
-				g.setColor(new Color(isDarkMode ? 0 : 255, isDarkMode ? 0 : 255, isDarkMode ? 0 : 255,
-						isDarkMode ? 60 : 40));
-				g.fillRect(0, 0, getWidth(), getHeight());
 			}
 		};
 		setContentPane(mainContent);
@@ -83,6 +123,18 @@ public class ClyMateFrame extends JFrame {
 		// Ensure overlays appear above content
 		mainContent.add(selectionPanel, Integer.valueOf(400));
 		mainContent.add(errorPanel, Integer.valueOf(500));
+		mainContent.add(metricsOverlay, Integer.valueOf(600));
+
+		getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke("F3"), "metrics");
+		getRootPane().getActionMap().put("metrics", new AbstractAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				metricsOverlay.toggle();
+				resizeOverlays();
+			}
+		});
 
 		// Click Listener to dismiss popups when clicking outside
 		Toolkit.getDefaultToolkit().addAWTEventListener(event -> {
@@ -122,6 +174,10 @@ public class ClyMateFrame extends JFrame {
 			}
 		});
 
+		// Paint the previous session's forecast right away (stale-while-revalidate)
+		if (snapshot != null)
+			dashboard.showSnapshot(snapshot);
+
 		// Start async geolocation task on startup
 		SwingUtilities.invokeLater(this::startAutoLocate);
 		applyTheme();
@@ -156,6 +212,7 @@ public class ClyMateFrame extends JFrame {
 		mainContent.add(stickyHeader, Integer.valueOf(300));
 	}
 
+	@Override
 	public void setStickyHeaderVisible(boolean visible, String city, String temp) {
 		if (visible) {
 			stickyCity.setText(city);
@@ -192,6 +249,22 @@ public class ClyMateFrame extends JFrame {
 		// Trigger search on Enter Key
 		searchBar.addActionListener(_ -> resolveCity(searchBar.getText()));
 
+		// Suggest cities as the user types
+		typeAhead = new TypeAhead(this::showSuggestions);
+		searchBar.getDocument().addDocumentListener(new DocumentListener() {
+			public void insertUpdate(DocumentEvent e) {
+				typeAhead.textChanged(searchBar.getText());
+			}
+
+			public void removeUpdate(DocumentEvent e) {
+				typeAhead.textChanged(searchBar.getText());
+			}
+
+			public void changedUpdate(DocumentEvent e) {
+				// Attribute changes only
+			}
+		});
+
 		searchBar.addMouseListener(new MouseAdapter() {
 			public void mouseClicked(MouseEvent e) {
 				if (stickyHeader.isVisible())
@@ -238,28 +311,27 @@ public class ClyMateFrame extends JFrame {
 	}
 
 	/**
-	 * Resolves city string to geo-coordinates via threading (SwingWorker).
+	 * Resolves city string to geo-coordinates on a background task. A newer
+	 * search cancels the one still running, so a slow answer never replaces a
+	 * newer one.
 	 * 
 	 * @param query The input string.
 	 */
 	private void resolveCity(String query) {
+		typeAhead.cancel();
+		if (searchTask != null) {
+			searchTask.cancel();
+			searchTask = null;
+		}
 		if (!SearchController.isValidInput(query)) {
 			showError("Invalid characters.");
 			return;
 		}
 		selectionPanel.setVisible(false);
 
-		// Run API call in background thread (Rule 18: Threading)
-		new SwingWorker<List<WeatherService.CityResult>, Void>() {
-			@Override
-			protected List<WeatherService.CityResult> doInBackground() throws Exception {
-				return WeatherService.searchCities(query);
-			}
-
-			@Override
-			protected void done() {
-				try {
-					List<WeatherService.CityResult> res = get();
+		searchTask = TaskService.submit("city-search", SEARCH_TIMEOUT,
+				scope -> scope.await(WeatherService.searchCitiesAsync(query)), res -> {
+					searchTask = null;
 					if (res.isEmpty()) {
 						showError("City not found");
 					} else if (res.size() == 1) {
@@ -269,33 +341,27 @@ public class ClyMateFrame extends JFrame {
 						// Ambiguous result - ask user to select from list
 						showSelection(res);
 					}
-				} catch (Exception e) {
+				}, _ -> {
+					searchTask = null;
 					showError("Connection Failed");
-				}
-			}
-		}.execute();
+				});
 	}
 
 	private void showHistory() {
-		List<String> rawHistory = SearchController.getHistory();
-		if (rawHistory.isEmpty())
+		List<HistoryStore.Entry> history = SearchController.getHistory();
+		if (history.isEmpty())
 			return;
 
 		DefaultListModel<Object> m = (DefaultListModel<Object>) cityList.getModel();
 		m.clear();
 		m.addElement("  Recent Searches:");
+		showingSuggestions = false;
 
 		SimpleDateFormat sdf = new SimpleDateFormat("MM/dd HH:mm");
 
-		for (String s : rawHistory) {
-			String[] parts = s.split("\\|");
+		for (HistoryStore.Entry h : history) {
 			// Requirement 8: Show Timestamp in history
-			String display = parts[0];
-			if (parts.length > 4) {
-				long time = Long.parseLong(parts[4]);
-				display += " (" + sdf.format(new Date(time)) + ")";
-			}
-			m.addElement(display);
+			m.addElement(h.displayName() + " (" + sdf.format(new Date(h.time())) + ")");
 		}
 		selectionPanel.setVisible(true);
 		resizeOverlays();
@@ -354,15 +420,11 @@ public class ClyMateFrame extends JFrame {
 					dashboard.fetchData(cr);
 					SearchController.addToHistory(cr);
 				} else if (val instanceof String) {
-					List<String> rawHist = SearchController.getHistory();
+					List<HistoryStore.Entry> history = SearchController.getHistory();
 					// Offset by 1 for header
-					if (idx - 1 < rawHist.size()) {
-						String raw = rawHist.get(idx - 1);
-						String[] p = raw.split("\\|");
-						if (p.length >= 4) {
-							dashboard.fetchDataDirect(Double.parseDouble(p[1]), Double.parseDouble(p[2]),
-									p[0].split(",")[0], p[3]);
-						}
+					if (idx - 1 < history.size()) {
+						HistoryStore.Entry h = history.get(idx - 1);
+						dashboard.fetchDataDirect(h.lat(), h.lon(), h.name(), h.country());
 					}
 				}
 				selectionPanel.setVisible(false);
@@ -373,12 +435,33 @@ public class ClyMateFrame extends JFrame {
 	}
 
 	private void showSelection(List<WeatherService.CityResult> res) {
+		showList("  Select Location:", res);
+		showingSuggestions = false;
+	}
+
+	/**
+	 * Shows type-ahead suggestions, or closes the suggestion dropdown when there
+	 * are none. History and search results are left alone.
+	 */
+	private void showSuggestions(List<WeatherService.CityResult> res) {
+		if (!res.isEmpty()) {
+			showList("  Suggestions:", res);
+			showingSuggestions = true;
+		} else if (showingSuggestions) {
+			selectionPanel.setVisible(false);
+			showingSuggestions = false;
+		}
+	}
+
+	private void showList(String header, List<WeatherService.CityResult> res) {
 		DefaultListModel<Object> m = (DefaultListModel<Object>) cityList.getModel();
 		m.clear();
-		m.addElement("  Select Location:");
+		m.addElement(header);
 		for (WeatherService.CityResult r : res) {
 			m.addElement(r);
 		}
+		if (stickyHeader.isVisible())
+			stickyHeader.setVisible(false);
 		selectionPanel.setVisible(true);
 		resizeOverlays();
 		mainContent.moveToFront(selectionPanel);
@@ -396,11 +479,17 @@ public class ClyMateFrame extends JFrame {
 		return b;
 	}
 
-	private void showError(String m) {
+	/**
+	 * Shows a message in the error banner for three seconds.
+	 * 
+	 * @param m The message.
+	 */
+	@Override
+	public void showError(String m) {
 		((ShadowLabel) errorPanel.getComponent(0)).setText(m);
 		errorPanel.setVisible(true);
 		mainContent.moveToFront(errorPanel);
-		new Timer(3000, _ -> errorPanel.setVisible(false)).start();
+		hideError.restart(); // A newer error gets the full three seconds
 	}
 
 	private void resizeOverlays() {
@@ -408,22 +497,19 @@ public class ClyMateFrame extends JFrame {
 			selectionPanel.setBounds(30, 75, 450, 300);
 			errorPanel.setBounds((getWidth() - 300) / 2, 90, 300, 40);
 		}
+		// The overlay sets its own height to fit its lines
+		metricsOverlay.setBounds(getWidth() - 420, 80, 390, metricsOverlay.getHeight());
 	}
 
 	private void startAutoLocate() {
-		new SwingWorker<String, Void>() {
-			protected String doInBackground() {
-				return WeatherService.getIpLocation();
-			}
-
-			protected void done() {
-				try {
-					resolveCity(get());
-				} catch (Exception e) {
-					resolveCity("New York"); // Fallback
-				}
-			}
-		}.execute();
+		if (snapshot != null) {
+			// Revalidate the city we already show rather than relocating by IP
+			dashboard.fetchDataDirect(snapshot.getLatitude(), snapshot.getLongitude(), snapshot.getCityName(),
+					snapshot.getCountry());
+			return;
+		}
+		TaskService.submit("auto-locate", LOCATE_TIMEOUT, scope -> scope.await(WeatherService.getIpLocationAsync()),
+				this::resolveCity, _ -> resolveCity("New York")); // Fallback
 	}
 
 	/**
@@ -0,0 +1,131 @@
+package clymate.ui;
+
+import clymate.metrics.EdtStallEvent;
+import clymate.metrics.LatencyHistogram;
+import clymate.metrics.Metrics;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.swing.SwingUtilities;
+
+/**
+ * Watches how quickly the Event Dispatch Thread gets to new events. A probe is
+ * queued on the EDT every period and the time until it runs is recorded as
+ * {@code ui.edt.latency}. When a probe waits longer than the stall threshold,
+ * the EDT's stack is captured right then, so it shows the work that is
+ * blocking it; once the EDT recovers the stall is logged to stderr and
+ * emitted as an {@link EdtStallEvent} for a JFR recording.
+ *
+ * <p>
+ * Runs on one daemon thread. Enabled by {@code AppLauncher}; tune it with
+ * {@code -Dclymate.edt.stallMillis} (0 to disable).
+ *
+ * @author Malith Dissanayake
+ */
+public final class EdtWatchdog {
+
+	private static final int LOGGED_FRAMES = 12;
+
+	private static final LatencyHistogram latency = Metrics.timer("ui.edt.latency");
+	private static final LongAdder stalls = Metrics.counter("ui.edt.stalls");
+
+	private static Thread watcher;
+
+	private final long periodMillis;
+	private final long thresholdMillis;
+	// Refreshed by every probe that runs: AWT starts a new EDT if one dies
+	private volatile Thread edt;
+
+	private EdtWatchdog(Duration period, Duration threshold) {
+		this.periodMillis = period.toMillis();
+		this.thresholdMillis = threshold.toMillis();
+	}
+
+	/**
+	 * Starts watching, unless already started.
+	 *
+	 * @param period    Time between probes.
+	 * @param threshold Dispatch latency that counts as a stall.
+	 */
+	public static synchronized void start(Duration period, Duration threshold) {
+		if (watcher != null)
+			return;
+		EdtWatchdog w = new EdtWatchdog(period, threshold);
+		watcher = new Thread(w::run, "edt-watchdog");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				probe();
+				Thread.sleep(periodMillis);
+			}
+		} catch (InterruptedException e) {
+			// Shutting down
+		}
+	}
+
+	private void probe() throws InterruptedException {
+		EdtStallEvent event = new EdtStallEvent();
+		event.begin();
+		long posted = System.nanoTime();
+		CompletableFuture<Long> ran = new CompletableFuture<>();
+		SwingUtilities.invokeLater(() -> {
+			edt = Thread.currentThread();
+			ran.complete(System.nanoTime());
+		});
+
+		StackTraceElement[] stack = null;
+		long done;
+		try {
+			try {
+				done = ran.get(thresholdMillis, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// Still blocked: this is the moment that shows what it is doing
+				Thread t = edt != null ? edt : findEdt();
+				stack = t != null ? t.getStackTrace() : new StackTraceElement[0];
+				done = ran.get();
+			}
+		} catch (ExecutionException e) {
+			return; // Never completed exceptionally
+		}
+		event.end();
+		latency.record((done - posted) / 1000);
+		if (stack == null)
+			return;
+
+		stalls.increment();
+		System.err.printf("EDT stalled for %d ms in:%n%s", (done - posted) / 1_000_000,
+				format(stack, LOGGED_FRAMES));
+		if (event.shouldCommit()) {
+			event.edtStack = format(stack, stack.length);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Looks the EDT up by name, for a stall before any probe has run on it, such
+	 * as one during startup.
+	 */
+	private static Thread findEdt() {
+		for (Thread t : Thread.getAllStackTraces().keySet()) {
+			if (t.getName().startsWith("AWT-EventQueue"))
+				return t;
+		}
+		return null;
+	}
+
+	private static String format(StackTraceElement[] frames, int max) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < frames.length && i < max; i++)
+			sb.append("\tat ").append(frames[i]).append('\n');
+		if (frames.length > max)
+			sb.append("\t... ").append(frames.length - max).append(" more\n");
+		return sb.toString();
+	}
+}
\ No newline at end of file
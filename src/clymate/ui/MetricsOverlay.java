@@ -0,0 +1,85 @@
+package clymate.ui;
+
+import clymate.metrics.LatencyHistogram;
+import clymate.metrics.Metrics;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JComponent;
+
+/**
+ * Live view of the {@link Metrics} registry drawn over the window: latency
+ * percentiles of every timer that has recorded something, then the gauges.
+ * Refreshes twice a second while shown and costs nothing while hidden.
+ *
+ * @author Malith Dissanayake
+ */
+public class MetricsOverlay extends JComponent {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+	private static final int PAD = 8;
+
+	private final Animator.Task refresh = Animator.get().task(this::refresh, 0, 500);
+	private List<String> lines = List.of();
+
+	public MetricsOverlay() {
+		setOpaque(false);
+		setVisible(false);
+	}
+
+	/** Shows or hides the overlay. */
+	public void toggle() {
+		setVisible(!isVisible());
+		if (isVisible())
+			refresh.restart();
+		else
+			refresh.stop();
+	}
+
+
+	private void refresh() {
+		List<String> out = new ArrayList<>();
+		out.add(String.format("%-24s %7s %7s %7s %6s", "timer (ms)", "p50", "p99", "max", "n"));
+		for (String name : Metrics.timerNames()) {
+			LatencyHistogram t = Metrics.timer(name);
+			long n = t.count();
+			if (n > 0)
+				out.add(String.format("%-24s %7.1f %7.1f %7.1f %6d", name, t.percentile(0.50) / 1e3,
+						t.percentile(0.99) / 1e3, t.max() / 1e3, n));
+		}
+		Metrics.values().forEach((name, v) -> out.add(String.format("%-24s %7d", name, v)));
+		lines = out;
+
+		// Grow to fit the lines, but not past the bottom of the window
+		int h = out.size() * getFontMetrics(FONT).getHeight() + 2 * PAD;
+		if (getParent() != null)
+			h = Math.min(h, getParent().getHeight() - getY() - PAD);
+		if (h != getHeight())
+			setSize(getWidth(), h);
+		repaint();
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		Graphics2D g2 = (Graphics2D) g.create();
+		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g2.setColor(new Color(0, 0, 0, 190));
+		g2.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
+		g2.setFont(FONT);
+		g2.setColor(new Color(120, 255, 140));
+		FontMetrics fm = g2.getFontMetrics();
+		int y = PAD + fm.getAscent();
+		for (String line : lines) {
+			g2.drawString(line, PAD, y);
+			y += fm.getHeight();
+		}
+		g2.dispose();
+	}
+}
\ No newline at end of file
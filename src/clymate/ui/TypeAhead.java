@@ -0,0 +1,136 @@
+package clymate.ui;
+
+import clymate.backend.Gazetteer;
+import clymate.backend.SearchController;
+import clymate.backend.WeatherService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Live city suggestions for the search bar. Gazetteer matches are shown on the
+ * keystroke itself; the geocoding API is only consulted once typing pauses and
+ * the gazetteer came up short. Every keystroke supersedes (and cancels) the
+ * previous lookup, and a sequence number keeps late answers off the list.
+ *
+ * <p>
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @author Malith Dissanayake
+ */
+final class TypeAhead {
+
+	/** Suggestions shown in the dropdown. */
+	static final int LIMIT = 5;
+
+	/** Typing pause before the network is asked. */
+	private static final int DEBOUNCE_MS = 250;
+
+	/** Shortest query worth a network lookup. */
+	private static final int MIN_REMOTE_CHARS = 3;
+
+	/** Remote lookups allowed in flight at once; cancelled ones may still be closing. */
+	private static final int MAX_IN_FLIGHT = 2;
+
+	private final Consumer<List<WeatherService.CityResult>> sink;
+	private final Timer debounce;
+
+	// Bumped on every keystroke; only answers for the current value are shown
+	private long seq;
+	private String pendingQuery = "";
+	private List<WeatherService.CityResult> localHits = List.of();
+
+	private CompletableFuture<List<WeatherService.CityResult>> inFlight;
+	private int inFlightCount;
+
+	/**
+	 * @param sink Receives the suggestions to display; an empty list means
+	 *             nothing to show.
+	 */
+	TypeAhead(Consumer<List<WeatherService.CityResult>> sink) {
+		this.sink = sink;
+		this.debounce = new Timer(DEBOUNCE_MS, _ -> lookupRemote());
+		this.debounce.setRepeats(false);
+	}
+
+	/**
+	 * Handles a change of the search text.
+	 */
+	void textChanged(String text) {
+		cancel();
+		String query = text.trim();
+		if (!SearchController.isValidInput(query)) {
+			sink.accept(List.of());
+			return;
+		}
+
+		// The gazetteer answers in well under a millisecond, so no need to defer it
+		localHits = Gazetteer.get().suggest(query, LIMIT);
+		sink.accept(localHits);
+
+		if (localHits.size() < LIMIT && query.length() >= MIN_REMOTE_CHARS) {
+			pendingQuery = query;
+			debounce.restart();
+		}
+	}
+
+	/**
+	 * Drops the pending and in-flight lookups, e.g. when the user submits the
+	 * search or picks a result.
+	 */
+	void cancel() {
+		seq++;
+		debounce.stop();
+		if (inFlight != null) {
+			inFlight.cancel(true);
+			inFlight = null;
+		}
+	}
+
+	private void lookupRemote() {
+		if (inFlightCount >= MAX_IN_FLIGHT) {
+			// Older lookups are still winding down; try again after another pause
+			debounce.restart();
+			return;
+		}
+
+		long mySeq = seq;
+		List<WeatherService.CityResult> local = localHits;
+		CompletableFuture<List<WeatherService.CityResult>> f = WeatherService.searchCitiesOnlineAsync(pendingQuery);
+		inFlight = f;
+		inFlightCount++;
+		f.whenComplete((res, e) -> SwingUtilities.invokeLater(() -> {
+			inFlightCount--;
+			if (inFlight == f)
+				inFlight = null;
+			// Superseded, cancelled or failed: the local suggestions stay as they are
+			if (mySeq != seq || e != null || res.isEmpty())
+				return;
+			sink.accept(merge(local, res));
+		}));
+	}
+
+	private static List<WeatherService.CityResult> merge(List<WeatherService.CityResult> local,
+			List<WeatherService.CityResult> remote) {
+		List<WeatherService.CityResult> out = new ArrayList<>(local);
+		for (WeatherService.CityResult r : remote) {
+			if (out.size() == LIMIT)
+				break;
+			boolean dup = false;
+			for (WeatherService.CityResult l : local) {
+				// Same place if the names agree and the coordinates are within ~10 km
+				if (l.getName().equalsIgnoreCase(r.getName()) && Math.abs(l.getLat() - r.getLat()) < 0.1
+						&& Math.abs(l.getLon() - r.getLon()) < 0.1) {
+					dup = true;
+					break;
+				}
+			}
+			if (!dup)
+				out.add(r);
+		}
+		return out;
+	}
+}
\ No newline at end of file
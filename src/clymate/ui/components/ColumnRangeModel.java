@@ -0,0 +1,46 @@
+package clymate.ui.components;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * List model over a contiguous range of {@link clymate.backend.WeatherData}
+ * column indices. The elements are the indices themselves; the renderer reads
+ * the values straight from the columns, so nothing is copied per row.
+ *
+ * @author Malith Dissanayake
+ */
+final class ColumnRangeModel extends AbstractListModel<Integer> {
+
+	private static final long serialVersionUID = 1L;
+
+	private int first;
+	private int size;
+
+	/**
+	 * Points the model at another range.
+	 *
+	 * @param first Column index of the first element.
+	 * @param size  Number of elements, or 0 for an empty list.
+	 */
+	void setRange(int first, int size) {
+		int old = this.size;
+		this.first = first;
+		this.size = Math.max(0, size);
+		if (old > this.size)
+			fireIntervalRemoved(this, this.size, old - 1);
+		if (this.size > old)
+			fireIntervalAdded(this, old, this.size - 1);
+		if (Math.min(old, this.size) > 0)
+			fireContentsChanged(this, 0, Math.min(old, this.size) - 1);
+	}
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public Integer getElementAt(int index) {
+		return first + index;
+	}
+}
\ No newline at end of file
@@ -2,10 +2,18 @@ package clymate.ui.components;
 
 import javax.swing.*;
 import clymate.backend.*;
-import clymate.ui.ClyMateFrame;
+import clymate.metrics.LatencyHistogram;
+import clymate.metrics.Metrics;
+import clymate.metrics.PaintEvent;
+import clymate.ui.Animator;
 import clymate.ui.GlassPanel;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +28,19 @@ public class DashboardView extends JPanel {
 
 	private static final long serialVersionUID = 1L;
 
-	private final ClyMateFrame parent;
+	/**
+	 * The window hosting the dashboard. Kept as an interface so the view can be
+	 * built and painted without a frame, e.g. offscreen in benchmarks.
+	 */
+	public interface Host {
+		/** Shows or hides the compact city/temperature header. */
+		void setStickyHeaderVisible(boolean visible, String city, String temp);
+
+		/** Reports a failure to the user. */
+		void showError(String message);
+	}
+
+	private final Host parent;
 	private String currentBg = "resources/bg/day-noon.png";
 
 	// Text Elements
@@ -36,7 +56,11 @@ public class DashboardView extends JPanel {
 	private GlassPanel detailPanel;
 	private GlassPanel hourlyPanel;
 	private GlassPanel weeklyPanel;
-	private JPanel hourlySlotsContainer;
+	private JScrollPane hourlyScroll;
+	private HourlyRenderer hourlyRenderer;
+	private KineticScroller hourlyScroller;
+	private JList<Integer> hourlyList;
+	private JList<Integer> dailyList;
 	private JPanel contentPanel;
 	private JButton leftArrow;
 	private JButton rightArrow;
@@ -45,27 +69,224 @@ public class DashboardView extends JPanel {
 	private boolean isDarkMode = true;
 	private boolean isCelsius = true;
 	private WeatherData lastData;
+	// Unit-dependent strings of lastData, for both unit systems
+	private UnitText unitText;
+	// True while showing the on-disk snapshot, until the first live refresh lands
+	private boolean showingSnapshot = false;
+	// The forecast fetch still running, if any
+	private TaskService.Task<WeatherData> fetchTask;
 
 	private final int SLOTS_PER_PAGE = 5;
-	private int hourlyPageIndex = 0;
+
+	private static final LatencyHistogram populateTime = Metrics.timer("ui.populate");
+	private static final LatencyHistogram paintTime = Metrics.timer("ui.paint.dashboard");
 
 	// Tip Ticker
-	private Timer tipTimer;
+	private final Animator.Task tipTimer = Animator.get().task(this::nextTip, 3000, 3000);
 	private final List<String> tips = new ArrayList<>();
 	private int tipIndex = 0;
+	private int diffTipIndex = -1;
+
+	// Forecast lists paint only their visible cells, straight from the columns
+	private final ColumnRangeModel hourlyModel = new ColumnRangeModel();
+	private final ColumnRangeModel dailyModel = new ColumnRangeModel();
+	private static final int DAILY_ROW_HEIGHT = 41;
+	private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(20);
+
+	// Persistent detail tiles, created once and updated in place on every refresh
+	private final ShadowLabel[] detailValues = new ShadowLabel[DETAILS.length];
 
-	// Collection tracking for bulk theme updates
+	// Collection tracking for bulk theme updates (each label is registered once)
 	private final List<ShadowLabel> textElements = new ArrayList<>();
+	private final List<ShadowLabel> accentElements = new ArrayList<>();
 	private final List<GlassPanel> glassPanels = new ArrayList<>();
 
 	// Theme Colors
 	private Color fgPrimary;
+	private Color accent;
 	private Color textBg;
 	private Color creditsBg;
 	private static final int ICON_SIZE_DETAIL = 35;
 	private static final int ICON_SIZE_HOURLY = 65;
 
-	public DashboardView(ClyMateFrame parent) {
+	// Detail grid tiles: icon and caption
+	private static final String[][] DETAILS = { { "humidity.svg", "Humidity" }, { "wind1.svg", "Wind" },
+			{ "uv-index.svg", "UV Index" }, { "rain-chance.svg", "Rain Chance" }, { "sunrise.svg", "Sunrise" },
+			{ "sunset.svg", "Sunset" } };
+
+	/**
+	 * Paints one hour of the carousel. Each hour is stamped once, from the hourly
+	 * columns, into an image at the display's scale; while the strip scrolls,
+	 * every frame only blits those images.
+	 */
+	private final class HourlyRenderer implements ListCellRenderer<Integer> {
+		// Cell images by hourly column index, dropped whenever the content changes
+		final AssetCache<Integer, BufferedImage> images = new AssetCache<>("hourly cells", 4L << 20,
+				img -> 4L * img.getWidth() * img.getHeight());
+		final CellRendererPane pane = new CellRendererPane();
+		final CellImage view = new CellImage();
+
+		final JPanel cell = new JPanel(new GridBagLayout());
+		final ShadowLabel time = stamp(register(new ShadowLabel("", 16, false)));
+		final JLabel icon = new JLabel();
+		final ShadowLabel temp = stamp(register(new ShadowLabel("", 18, true)));
+		final ShadowLabel rain = stamp(registerAccent(new ShadowLabel("", 15, true)));
+
+		HourlyRenderer() {
+			cell.setOpaque(false);
+			GridBagConstraints g = new GridBagConstraints();
+			g.gridx = 0;
+			g.gridy = 0;
+
+			time.setOpaque(false);
+			cell.add(time, g);
+			g.gridy++;
+
+			cell.add(icon, g);
+			g.gridy++;
+
+			temp.setOpaque(false);
+			cell.add(temp, g);
+			g.gridy++;
+
+			JPanel rP = new JPanel(new FlowLayout(FlowLayout.CENTER, 4, 0));
+			rP.setOpaque(false);
+			rP.add(new JLabel(AssetUtils.getIcon("rain-chance.svg", 18, 18)));
+			rP.add(rain);
+			cell.add(rP, g);
+		}
+
+		@Override
+		public Component getListCellRendererComponent(JList<? extends Integer> list, Integer value, int index,
+				boolean isSelected, boolean cellHasFocus) {
+			view.hour = value;
+			view.now = index == 0;
+			return view;
+		}
+
+		/** Drops the cell images, after the data, units or theme changed. */
+		void flush() {
+			images.clear();
+		}
+
+		private BufferedImage render(GraphicsConfiguration gc, int i, boolean now, int w, int h, double scale) {
+			time.setText(now ? "Now" : lastData.formatHour(i));
+			icon.setIcon(AssetUtils.getWeatherIcon(lastData.getHourlyCode(i), true, ICON_SIZE_HOURLY,
+					ICON_SIZE_HOURLY));
+			temp.setText(units().hourlyTemp[i]);
+			rain.setText(lastData.getHourlyRain(i) + "%");
+
+			int pw = (int) Math.ceil(w * scale), ph = (int) Math.ceil(h * scale);
+			BufferedImage img = gc != null ? gc.createCompatibleImage(pw, ph, Transparency.TRANSLUCENT)
+					: new BufferedImage(pw, ph, BufferedImage.TYPE_INT_ARGB_PRE);
+			Graphics2D g = img.createGraphics();
+			try {
+				g.scale(scale, scale);
+				pane.paintComponent(g, cell, hourlyList, 0, 0, w, h, true);
+			} finally {
+				g.dispose();
+			}
+			return img;
+		}
+
+		/**
+		 * What the list stamps for each cell: the cached image of its hour.
+		 */
+		private final class CellImage extends JComponent {
+			private static final long serialVersionUID = 1L;
+
+			int hour;
+			boolean now;
+			private double scale = 1;
+
+			@Override
+			protected void paintComponent(Graphics g) {
+				Graphics2D g2 = (Graphics2D) g;
+				AffineTransform t = g2.getTransform();
+				double s = t.getScaleX();
+				int w = getWidth(), h = getHeight();
+				if (t.getShearX() != 0 || t.getShearY() != 0 || t.getScaleY() != s || s <= 0) {
+					g2.drawImage(render(g2.getDeviceConfiguration(), hour, now, w, h, 1), 0, 0, null);
+					return;
+				}
+				if (s != scale) {
+					scale = s;
+					flush();
+				}
+
+				BufferedImage img = images.get(hour);
+				if (img == null || img.getWidth() != (int) Math.ceil(w * s)
+						|| img.getHeight() != (int) Math.ceil(h * s)) {
+					img = render(g2.getDeviceConfiguration(), hour, now, w, h, s);
+					images.put(hour, img);
+				}
+
+				// Blit in device space so the image maps 1:1 onto screen pixels
+				int dx = (int) Math.round(t.getTranslateX());
+				int dy = (int) Math.round(t.getTranslateY());
+				g2.setTransform(new AffineTransform());
+				g2.drawImage(img, dx, dy, null);
+				g2.setTransform(t);
+			}
+		}
+	}
+
+	/**
+	 * Paints one row of the 16-day list with its separator line. A single
+	 * instance stamps every visible row, reading straight from the daily columns.
+	 */
+	private final class DailyRenderer implements ListCellRenderer<Integer> {
+		final JPanel row = new JPanel(new BorderLayout());
+		final ShadowLabel dayName = stamp(register(new ShadowLabel("", 16, true)));
+		final JLabel icon = new JLabel();
+		final ShadowLabel cond = stamp(register(new ShadowLabel("", 14, false)));
+		final ShadowLabel wind = stamp(register(new ShadowLabel("", 14, false)));
+		final ShadowLabel rain = stamp(registerAccent(new ShadowLabel("", 14, false)));
+		final ShadowLabel temp = stamp(register(new ShadowLabel("", 16, true)));
+
+		DailyRenderer() {
+			row.setOpaque(false);
+			row.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(255, 255, 255, 30)));
+
+			dayName.setPreferredSize(new Dimension(140, 30));
+			dayName.setHorizontalAlignment(SwingConstants.LEFT);
+			dayName.setOpaque(false);
+
+			JPanel center = new JPanel(new FlowLayout());
+			center.setOpaque(false);
+			center.add(icon);
+			center.add(cond);
+
+			JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+			right.setOpaque(false);
+			right.add(new JLabel(AssetUtils.getIcon("wind1.svg", 18, 18)));
+			right.add(wind);
+			right.add(Box.createHorizontalStrut(10));
+			right.add(new JLabel(AssetUtils.getIcon("rain-chance.svg", 18, 18)));
+			right.add(rain);
+			right.add(Box.createHorizontalStrut(15));
+			right.add(temp);
+
+			row.add(dayName, BorderLayout.WEST);
+			row.add(center, BorderLayout.CENTER);
+			row.add(right, BorderLayout.EAST);
+		}
+
+		@Override
+		public Component getListCellRendererComponent(JList<? extends Integer> list, Integer value, int index,
+				boolean isSelected, boolean cellHasFocus) {
+			int i = value;
+			dayName.setText(lastData.formatDayName(i) + " " + lastData.formatDate(i));
+			icon.setIcon(AssetUtils.getWeatherIcon(lastData.getDailyCode(i), true, 28, 28));
+			cond.setText(AssetUtils.getWeatherConditionText(lastData.getDailyCode(i)));
+			wind.setText(units().dailyWind[i]);
+			rain.setText(lastData.getDailyPrecip(i) + "%");
+			temp.setText(units().dailyTemp[i]);
+			return row;
+		}
+	}
+
+	public DashboardView(Host parent) {
 		this.parent = parent;
 		setLayout(new BorderLayout());
 		setOpaque(false);
@@ -127,14 +348,13 @@ public class DashboardView extends JPanel {
 		scroll.getViewport().addChangeListener(_ -> {
 			if (scroll.getViewport().getViewPosition().y > 350 && lastData != null) {
 				parent.setStickyHeaderVisible(true, lastData.getCityName(),
-						formatTempInline(lastData.getCurrentTemp()));
+						units().currentTemp);
 			} else {
 				parent.setStickyHeaderVisible(false, "", "");
 			}
 		});
 
 		add(scroll, BorderLayout.CENTER);
-		initTipTimer();
 	}
 
 	private JPanel createHeader() {
@@ -215,11 +435,35 @@ public class DashboardView extends JPanel {
 		leftArrow.addActionListener(_ -> nav(-1));
 		rightArrow.addActionListener(_ -> nav(1));
 
-		hourlySlotsContainer = new JPanel(new GridLayout(1, SLOTS_PER_PAGE, 0, 0));
-		hourlySlotsContainer.setOpaque(false);
+		hourlyRenderer = new HourlyRenderer();
+		hourlyList = forecastList(hourlyModel, hourlyRenderer);
+		hourlyList.setLayoutOrientation(JList.HORIZONTAL_WRAP);
+		hourlyList.setVisibleRowCount(1);
+		hourlyList.add(hourlyRenderer.pane);
+
+		// Arrows and drags scroll the strip; the wheel keeps scrolling the dashboard
+		hourlyScroll = new JScrollPane(hourlyList, ScrollPaneConstants.VERTICAL_SCROLLBAR_NEVER,
+				ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+		hourlyScroll.setOpaque(false);
+		hourlyScroll.getViewport().setOpaque(false);
+		hourlyScroll.setBorder(null);
+		hourlyScroll.setWheelScrollingEnabled(false);
+		hourlyScroller = new KineticScroller(hourlyScroll.getViewport(), this::updateArrows);
+		hourlyScroll.getViewport().addComponentListener(new java.awt.event.ComponentAdapter() {
+			@Override
+			public void componentResized(java.awt.event.ComponentEvent e) {
+				// A page is always exactly SLOTS_PER_PAGE cells wide; stay on the same page
+				JViewport vp = hourlyScroll.getViewport();
+				int page = (int) Math.round(hourlyScroller.getTarget() / pageWidth());
+				hourlyList.setFixedCellWidth(Math.max(1, vp.getWidth() / SLOTS_PER_PAGE));
+				hourlyList.setFixedCellHeight(Math.max(1, vp.getHeight()));
+				hourlyScroller.setSnap(pageWidth());
+				hourlyScroller.jumpTo(page * pageWidth());
+			}
+		});
 
 		carousel.add(leftArrow, BorderLayout.WEST);
-		carousel.add(hourlySlotsContainer, BorderLayout.CENTER);
+		carousel.add(hourlyScroll, BorderLayout.CENTER);
 		carousel.add(rightArrow, BorderLayout.EAST);
 
 		hourlyPanel.add(carousel, BorderLayout.CENTER);
@@ -231,6 +475,8 @@ public class DashboardView extends JPanel {
 		glassPanels.add(detailPanel);
 		detailPanel.setLayout(new GridLayout(2, 3, 10, 15));
 		detailPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+		for (int i = 0; i < DETAILS.length; i++)
+			detailValues[i] = addDetail(DETAILS[i][0], DETAILS[i][1]);
 		return detailPanel;
 	}
 
@@ -239,6 +485,22 @@ public class DashboardView extends JPanel {
 		glassPanels.add(weeklyPanel);
 		weeklyPanel.setLayout(new BoxLayout(weeklyPanel, BoxLayout.Y_AXIS));
 		weeklyPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+
+		JPanel headP = new JPanel(new BorderLayout());
+		headP.setOpaque(false);
+		ShadowLabel head = register(new ShadowLabel("16-Day Forecast", 17, true));
+		head.setHorizontalAlignment(SwingConstants.LEFT);
+		head.setOpaque(false);
+		headP.add(head, BorderLayout.WEST);
+		headP.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+		weeklyPanel.add(headP);
+
+		dailyList = forecastList(dailyModel, new DailyRenderer());
+		dailyList.setFixedCellHeight(DAILY_ROW_HEIGHT);
+		dailyList.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
+		dailyList.setAlignmentX(LEFT_ALIGNMENT);
+		headP.setAlignmentX(LEFT_ALIGNMENT);
+		weeklyPanel.add(dailyList);
 		return weeklyPanel;
 	}
 
@@ -246,28 +508,51 @@ public class DashboardView extends JPanel {
 		fetchDataDirect(city.getLat(), city.getLon(), city.getName(), city.getCountry());
 	}
 
+	/**
+	 * Loads the forecast for a location in the background and shows it. A newer
+	 * fetch cancels the one still running, so a slow answer for a previous city
+	 * never replaces the current one.
+	 */
 	public void fetchDataDirect(double lat, double lon, String name, String country) {
-		new SwingWorker<WeatherData, Void>() {
-			@Override
-			protected WeatherData doInBackground() throws Exception {
-				return WeatherService.getWeather(lat, lon, name, country);
-			}
+		if (fetchTask != null)
+			fetchTask.cancel();
+		fetchTask = TaskService.submit("forecast-fetch", FETCH_TIMEOUT, scope -> {
+			long asked = System.currentTimeMillis();
+			WeatherData d = scope.await(WeatherService.getWeatherAsync(lat, lon, name, country));
+			// Saved off the EDT for the next cold start, but only when fetched
+			// just now: a cache hit or stale fallback has nothing new to keep
+			if (d.getFetchedAt() >= asked)
+				ForecastSnapshot.save(d);
+			return d;
+		}, d -> {
+			fetchTask = null;
+			lastData = d;
+			showingSnapshot = false;
+			populateUI(d);
+		}, _ -> {
+			fetchTask = null;
+			parent.showError(showingSnapshot ? "Offline: showing saved forecast" : "Connection Failed");
+		});
+	}
 
-			@Override
-			protected void done() {
-				try {
-					lastData = get();
-					populateUI(lastData);
-				} catch (Exception ex) {
-					ex.printStackTrace();
-				}
-			}
-		}.execute();
+	/**
+	 * Shows the forecast persisted by the previous session immediately, marked
+	 * as stale, until a live refresh replaces it.
+	 * 
+	 * @param d The snapshot loaded at startup.
+	 */
+	public void showSnapshot(WeatherData d) {
+		lastData = d;
+		showingSnapshot = true;
+		populateUI(d);
 	}
 
 	private void populateUI(WeatherData d) {
+		long start = System.nanoTime();
+		if (unitText == null || unitText.getData() != d)
+			unitText = new UnitText(d);
 		cityLabel.setText(d.getCityName() + ", " + d.getCountry());
-		setMainTemp(d.getCurrentTemp());
+		setMainTemp();
 		conditionLabel.setText(AssetUtils.getWeatherConditionText(d.getWeatherCode()));
 		mainIcon.setIcon(AssetUtils.getWeatherIcon(d.getWeatherCode(), true, 110, 110));
 
@@ -278,153 +563,84 @@ public class DashboardView extends JPanel {
 
 		// Generate Tips based on weather comparison (e.g. Warmer/Cooler)
 		tips.clear();
-		double diffVal = d.getCurrentTemp() - d.getYesterdayTemp();
-		String diff = Math.abs(diffVal) < 1 ? "Similar temperature to yesterday."
-				: (formatDiffInline(diffVal) + (diffVal > 0 ? " Warmer" : " Cooler") + " than yesterday.");
-
-		tips.add(diff);
+		if (showingSnapshot) {
+			String at = Instant.ofEpochMilli(d.getFetchedAt()).atZone(ZoneId.systemDefault())
+					.format(DateTimeFormatter.ofPattern("MMM d, hh:mm a"));
+			tips.add("Last updated " + at + " | Refreshing...");
+		}
+		diffTipIndex = tips.size();
+		tips.add(units().diffTip);
 		tips.add(AssetUtils.getSmartAdvice(d));
 		restartTipTimer();
 
-		hourlyPageIndex = 0;
-		updateCarousel();
-
-		// Populate Detail Grid
-		detailPanel.removeAll();
-		addDetail("humidity.svg", "Humidity", (int) d.getHumidity() + "%");
-		addDetail("wind1.svg", "Wind", formatSpeed(d.getWindSpeed()));
-		addDetail("uv-index.svg", "UV Index", "" + d.getUvIndex());
-		addDetail("rain-chance.svg", "Rain Chance", d.getPrecipProb() + "%");
-		addDetail("sunrise.svg", "Sunrise", d.getSunrise());
-		addDetail("sunset.svg", "Sunset", d.getSunset());
-
-		// Populate Weekly List
-		weeklyPanel.removeAll();
-		JPanel headP = new JPanel(new BorderLayout());
-		headP.setOpaque(false);
-		ShadowLabel head = register(new ShadowLabel("16-Day Forecast", 17, true));
-		head.setHorizontalAlignment(SwingConstants.LEFT);
-		head.setOpaque(false);
-		headP.add(head, BorderLayout.WEST);
-		headP.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
-		weeklyPanel.add(headP);
-
-		for (WeatherData.DailyForecast day : d.getForecast()) {
-			JPanel row = new JPanel(new BorderLayout());
-			row.setOpaque(false);
-			row.setMaximumSize(new Dimension(3000, 50));
-
-			ShadowLabel dayLabel = register(new ShadowLabel(day.dayName + " " + day.dateText, 16, true));
-			dayLabel.setPreferredSize(new Dimension(140, 30));
-			dayLabel.setHorizontalAlignment(SwingConstants.LEFT);
-			dayLabel.setOpaque(false);
-
-			JPanel center = new JPanel(new FlowLayout());
-			center.setOpaque(false);
-			center.add(new JLabel(AssetUtils.getWeatherIcon(day.code, true, 28, 28)));
-
-			ShadowLabel cond = new ShadowLabel(AssetUtils.getWeatherConditionText(day.code), 14, false);
-			cond.setTheme(isDarkMode);
-			cond.setForeground(fgPrimary);
-			center.add(cond);
-
-			JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-			right.setOpaque(false);
-			right.add(new JLabel(AssetUtils.getIcon("wind1.svg", 18, 18)));
-
-			ShadowLabel wL = new ShadowLabel(formatSpeed(day.windMax), 14, false);
-			wL.setTheme(isDarkMode);
-			wL.setForeground(fgPrimary);
-			right.add(wL);
-
-			right.add(Box.createHorizontalStrut(10));
-			right.add(new JLabel(AssetUtils.getIcon("rain-chance.svg", 18, 18)));
-
-			ShadowLabel rL = new ShadowLabel(day.precip + "%", 14, false);
-			rL.setTheme(isDarkMode);
-			rL.setForeground(isDarkMode ? new Color(130, 210, 255) : new Color(50, 100, 255));
-			right.add(rL);
-
-			right.add(Box.createHorizontalStrut(15));
-			ShadowLabel tL = new ShadowLabel(formatTempInline(day.max) + " / " + formatTempInline(day.min), 16, true);
-			tL.setTheme(isDarkMode);
-			tL.setForeground(fgPrimary);
-			right.add(tL);
-
-			row.add(dayLabel, BorderLayout.WEST);
-			row.add(center, BorderLayout.CENTER);
-			row.add(right, BorderLayout.EAST);
-			weeklyPanel.add(row);
-			JSeparator s = new JSeparator();
-			s.setForeground(new Color(255, 255, 255, 30));
-			weeklyPanel.add(s);
-		}
+		// Populate Detail Grid (same order as DETAILS)
+		detailValues[0].setText((int) d.getHumidity() + "%");
+		detailValues[1].setText(units().wind);
+		detailValues[2].setText("" + d.getUvIndex());
+		detailValues[3].setText(d.getPrecipProb() + "%");
+		detailValues[4].setText(d.getSunrise());
+		detailValues[5].setText(d.getSunset());
+
+		// Point the lists at the new columns; only visible cells are painted
+		int firstHour = d.getHourlyStart();
+		hourlyModel.setRange(firstHour, firstHour < 0 ? 0 : d.getHourlyCount() - firstHour);
+		int days = d.getForecast().size();
+		dailyModel.setRange(d.getDailyCount() - days, days);
+		hourlyRenderer.flush();
+		hourlyScroller.jumpTo(0);
 
 		// Set Background based on condition and time
 		currentBg = AssetUtils.getBackgroundPath(d.getWeatherCode(), d.getUtcOffset());
-		parent.repaint();
+		// Start decoding now (and the next time slot's image) instead of on first paint
+		// The background is painted by the container behind the dashboard
+		Container content = getParent() != null ? getParent() : this;
+		GraphicsConfiguration gc = getGraphicsConfiguration();
+		double scale = gc != null ? gc.getDefaultTransform().getScaleX() : 1;
+		AssetUtils.prefetchBackgrounds(d.getWeatherCode(), d.getUtcOffset(),
+				(int) Math.ceil(content.getWidth() * scale), (int) Math.ceil(content.getHeight() * scale));
+		content.repaint();
 		revalidate();
+		populateTime.recordSince(start);
 	}
 
-	private void updateCarousel() {
-		hourlySlotsContainer.removeAll();
-		if (lastData == null) {
-			hourlySlotsContainer.revalidate();
-			return;
+	@Override
+	public void paint(Graphics g) {
+		PaintEvent event = new PaintEvent();
+		event.begin();
+		long start = System.nanoTime();
+		super.paint(g);
+		paintTime.recordSince(start);
+		event.end();
+		if (event.shouldCommit()) {
+			event.component = "dashboard";
+			event.commit();
 		}
-		List<WeatherData.HourlyForecast> list = lastData.getHourlyForecast();
-		int s = hourlyPageIndex * SLOTS_PER_PAGE;
-		int e = Math.min(s + SLOTS_PER_PAGE, list.size());
-
-		for (int i = s; i < e; i++) {
-			WeatherData.HourlyForecast h = list.get(i);
-			JPanel cell = new JPanel(new GridBagLayout());
-			cell.setOpaque(false);
-			GridBagConstraints g = new GridBagConstraints();
-			g.gridx = 0;
-			g.gridy = 0;
-
-			ShadowLabel t = register(new ShadowLabel(h.time, 16, false));
-			t.setOpaque(false);
-			cell.add(t, g);
-			g.gridy++;
-
-			cell.add(new JLabel(AssetUtils.getWeatherIcon(h.code, true, ICON_SIZE_HOURLY, ICON_SIZE_HOURLY)), g);
-			g.gridy++;
-
-			ShadowLabel temp = register(new ShadowLabel(formatTempInline(h.temp), 18, true));
-			temp.setOpaque(false);
-			cell.add(temp, g);
-			g.gridy++;
-
-			JPanel rP = new JPanel(new FlowLayout(FlowLayout.CENTER, 4, 0));
-			rP.setOpaque(false);
-			rP.add(new JLabel(AssetUtils.getIcon("rain-chance.svg", 18, 18)));
-
-			ShadowLabel rT = new ShadowLabel(h.rainChance + "%", 15, true);
-			rT.setTheme(isDarkMode);
-			rT.setForeground(isDarkMode ? new Color(130, 210, 255) : new Color(50, 100, 255));
-			rP.add(rT);
-			cell.add(rP, g);
+	}
 
-			hourlySlotsContainer.add(cell);
-		}
+	/** @return Width of one page of the hourly strip, in pixels. */
+	private int pageWidth() {
+		return Math.max(1, SLOTS_PER_PAGE * hourlyList.getFixedCellWidth());
+	}
 
-		leftArrow.setEnabled(hourlyPageIndex > 0);
-		rightArrow.setEnabled(e < list.size());
-		hourlySlotsContainer.revalidate();
-		hourlySlotsContainer.repaint();
+	private void updateArrows() {
+		leftArrow.setEnabled(hourlyScroller.getTarget() > 0);
+		rightArrow.setEnabled(hourlyScroller.getTarget() < hourlyScroller.getMaxX());
 	}
 
+	/**
+	 * Glides the hourly strip by {@code d} pages from where it is heading.
+	 */
 	private void nav(int d) {
-		if (lastData == null)
-			return;
-		int max = (int) Math.ceil((double) lastData.getHourlyForecast().size() / SLOTS_PER_PAGE);
-		hourlyPageIndex = Math.max(0, Math.min(hourlyPageIndex + d, max - 1));
-		updateCarousel();
+		int page = (int) Math.round(hourlyScroller.getTarget() / pageWidth()) + d;
+		hourlyScroller.scrollTo(page * pageWidth());
 	}
 
-	private void addDetail(String icon, String label, String value) {
+	/**
+	 * Adds a detail tile.
+	 *
+	 * @return The tile's value label.
+	 */
+	private ShadowLabel addDetail(String icon, String label) {
 		JPanel p = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 6));
 		p.setOpaque(false);
 
@@ -437,30 +653,41 @@ public class DashboardView extends JPanel {
 		lbl.setOpaque(false);
 		p.add(lbl);
 
-		ShadowLabel val = register(new ShadowLabel(value, 17, true));
+		ShadowLabel val = register(new ShadowLabel("", 17, true));
 		val.setHorizontalAlignment(SwingConstants.LEFT);
 		val.setOpaque(false);
 		p.add(val);
 
 		detailPanel.add(p);
+		return val;
 	}
 
-	private void setMainTemp(double c) {
-		long n = Math.round(isCelsius ? c : (c * 1.8 + 32));
-		tempNumberLabel.setText(String.valueOf(n));
-		tempUnitLabel.setText(isCelsius ? "C°" : "F°");
+	/** @return The current forecast's strings in the selected unit system. */
+	private UnitText.Units units() {
+		return unitText.get(isCelsius);
 	}
 
-	private String formatTempInline(double c) {
-		return Math.round(isCelsius ? c : (c * 1.8 + 32)) + (isCelsius ? "°" : "°");
+	private void setMainTemp() {
+		tempNumberLabel.setText(units().mainTemp);
+		tempUnitLabel.setText(units().mainUnit);
 	}
 
-	private String formatDiffInline(double c) {
-		return Math.round(isCelsius ? c : (c * 1.8)) + (isCelsius ? "°" : "°");
-	}
-
-	private String formatSpeed(double k) {
-		return isCelsius ? Math.round(k) + " km/h" : String.format("%.1f mph", k / 1.609);
+	/**
+	 * Switches every unit-dependent label to the selected system. Only text is
+	 * swapped; the strings come from {@link #unitText}.
+	 */
+	private void applyUnits() {
+		setMainTemp();
+		detailValues[1].setText(units().wind);
+		if (diffTipIndex >= 0) {
+			tips.set(diffTipIndex, units().diffTip);
+			if (tipIndex == diffTipIndex)
+				tipText.setText(units().diffTip);
+		}
+		// The list renderers read the selected units on their next paint
+		hourlyRenderer.flush();
+		hourlyList.repaint();
+		dailyList.repaint();
 	}
 
 	private JButton mkArrow(String txt) {
@@ -474,6 +701,31 @@ public class DashboardView extends JPanel {
 		return b;
 	}
 
+	/**
+	 * Creates a forecast list: transparent, unselectable, drawn by one renderer.
+	 */
+	private JList<Integer> forecastList(ColumnRangeModel model, ListCellRenderer<Integer> renderer) {
+		JList<Integer> list = new JList<>(model);
+		list.setCellRenderer(renderer);
+		list.setOpaque(false);
+		list.setFocusable(false);
+		list.setSelectionModel(new DefaultListSelectionModel() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void setSelectionInterval(int index0, int index1) {
+				// Read-only list: ignore clicks
+			}
+		});
+		return list;
+	}
+
+	/** Marks a renderer label as a stamp, so it does not cache its image. */
+	private static ShadowLabel stamp(ShadowLabel l) {
+		l.setCached(false);
+		return l;
+	}
+
 	private ShadowLabel register(ShadowLabel l) {
 		l.setTheme(isDarkMode);
 		l.setForeground(fgPrimary);
@@ -481,21 +733,24 @@ public class DashboardView extends JPanel {
 		return l;
 	}
 
-	private void initTipTimer() {
-		if (tipTimer != null)
-			tipTimer.stop();
-		tipTimer = new Timer(3000, _ -> {
-			if (tips.isEmpty())
-				return;
-			tipIndex = (tipIndex + 1) % tips.size();
-			tipText.setText(tips.get(tipIndex));
-		});
-		tipTimer.setRepeats(true);
+	/**
+	 * Registers a label drawn in the accent (rain) color.
+	 */
+	private ShadowLabel registerAccent(ShadowLabel l) {
+		l.setTheme(isDarkMode);
+		l.setForeground(accent);
+		accentElements.add(l);
+		return l;
+	}
+
+	private void nextTip() {
+		if (tips.isEmpty())
+			return;
+		tipIndex = (tipIndex + 1) % tips.size();
+		tipText.setText(tips.get(tipIndex));
 	}
 
 	private void restartTipTimer() {
-		if (tipTimer == null)
-			initTipTimer();
 		tipTimer.stop();
 		if (!tips.isEmpty()) {
 			tipIndex = 0;
@@ -507,10 +762,12 @@ public class DashboardView extends JPanel {
 	private void computeThemeColors() {
 		if (isDarkMode) {
 			fgPrimary = new Color(235, 245, 255);
+			accent = new Color(130, 210, 255);
 			textBg = new Color(0, 0, 0, 110);
 			creditsBg = new Color(0, 0, 0, 180);
 		} else {
 			fgPrimary = new Color(20, 30, 40);
+			accent = new Color(50, 100, 255);
 			textBg = new Color(255, 255, 255, 180);
 			creditsBg = new Color(255, 255, 255, 220);
 		}
@@ -530,6 +787,10 @@ public class DashboardView extends JPanel {
 			if (l.isOpaque())
 				l.setBackground(textBg);
 		}
+		for (ShadowLabel l : accentElements) {
+			l.setTheme(isDarkMode);
+			l.setForeground(accent);
+		}
 		for (GlassPanel g : glassPanels)
 			g.setTheme(isDarkMode);
 
@@ -537,15 +798,13 @@ public class DashboardView extends JPanel {
 			leftArrow.setForeground(fgPrimary);
 			rightArrow.setForeground(fgPrimary);
 		}
-		// Force redraw of manually painted items in loop
-		if (lastData != null)
-			populateUI(lastData);
+		hourlyRenderer.flush();
 		repaint();
 	}
 
 	public void toggleUnits() {
 		isCelsius = !isCelsius;
 		if (lastData != null)
-			populateUI(lastData);
+			applyUnits();
 	}
 }
\ No newline at end of file
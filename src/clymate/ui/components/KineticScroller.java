@@ -0,0 +1,148 @@
+package clymate.ui.components;
+
+import clymate.ui.Animator;
+import java.awt.Point;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import javax.swing.JViewport;
+
+/**
+ * Smooth horizontal scrolling for a viewport. {@link #scrollTo(double)} eases
+ * the view towards its target on the shared {@link Animator} clock, so a run
+ * of clicks retargets the motion instead of restarting it. Dragging the view
+ * moves it directly; on release it keeps its momentum and comes to rest on
+ * the nearest snap point.
+ *
+ * <p>
+ * Must be used from the Event Dispatch Thread.
+ *
+ * @author Malith Dissanayake
+ */
+final class KineticScroller extends MouseAdapter implements Animator.Animation {
+
+	/** Time constant of the ease towards the target, in nanoseconds. */
+	private static final double TAU = 70e6;
+
+	/** How far ahead a fling's velocity is projected, in nanoseconds. */
+	private static final double FLING = 250e6;
+
+	private final JViewport viewport;
+	private final Runnable onMove;
+	private int snap = 1;
+
+	private double x;
+	private double target;
+	private long lastTick;
+
+	// Drag state
+	private int pressX;
+	private double pressPos;
+	private long lastDragTime;
+	private int lastDragX;
+	private double velocity; // px per ns, smoothed
+
+	/**
+	 * @param viewport The viewport to scroll; the scroller listens to drags on its
+	 *                 view.
+	 * @param onMove   Called after every change of the view position.
+	 */
+	KineticScroller(JViewport viewport, Runnable onMove) {
+		this.viewport = viewport;
+		this.onMove = onMove;
+		viewport.getView().addMouseListener(this);
+		viewport.getView().addMouseMotionListener(this);
+	}
+
+	/** Sets the spacing of the points a fling comes to rest on, in pixels. */
+	void setSnap(int px) {
+		snap = Math.max(1, px);
+	}
+
+	/** @return Where the view is heading (or resting), in pixels. */
+	double getTarget() {
+		return target;
+	}
+
+	/** @return The largest valid view position. */
+	int getMaxX() {
+		return Math.max(0, viewport.getView().getPreferredSize().width - viewport.getExtentSize().width);
+	}
+
+	/**
+	 * Eases the view towards {@code px}, clamped to the scrollable range.
+	 */
+	void scrollTo(double px) {
+		target = clamp(px);
+		if (target == x) {
+			onMove.run();
+			return;
+		}
+		if (!Animator.get().isRunning(this))
+			lastTick = 0;
+		Animator.get().start(this);
+	}
+
+	/**
+	 * Moves the view to {@code px} at once, stopping any motion.
+	 */
+	void jumpTo(double px) {
+		Animator.get().stop(this);
+		x = target = clamp(px);
+		apply();
+	}
+
+	@Override
+	public boolean tick(long now) {
+		double dt = lastTick == 0 ? Animator.get().getFramePeriod() : now - lastTick;
+		lastTick = now;
+		x += (target - x) * (1 - Math.exp(-dt / TAU));
+		boolean moving = Math.abs(target - x) >= 0.5;
+		if (!moving)
+			x = target;
+		apply();
+		return moving;
+	}
+
+	@Override
+	public void mousePressed(MouseEvent e) {
+		Animator.get().stop(this);
+		x = target = viewport.getViewPosition().x;
+		pressX = lastDragX = e.getXOnScreen();
+		pressPos = x;
+		lastDragTime = e.getWhen() * 1_000_000L;
+		velocity = 0;
+	}
+
+	@Override
+	public void mouseDragged(MouseEvent e) {
+		long t = e.getWhen() * 1_000_000L;
+		if (t > lastDragTime) {
+			double v = -(e.getXOnScreen() - lastDragX) / (double) (t - lastDragTime);
+			velocity = velocity * 0.3 + v * 0.7;
+		}
+		lastDragTime = t;
+		lastDragX = e.getXOnScreen();
+
+		x = target = clamp(pressPos - (e.getXOnScreen() - pressX));
+		apply();
+	}
+
+	@Override
+	public void mouseReleased(MouseEvent e) {
+		// A pause before letting go means no fling
+		if (e.getWhen() * 1_000_000L - lastDragTime > 100e6)
+			velocity = 0;
+		double landing = x + velocity * FLING;
+		scrollTo(Math.round(landing / snap) * (double) snap);
+	}
+
+	private double clamp(double px) {
+		return Math.max(0, Math.min(px, getMaxX()));
+	}
+
+	private void apply() {
+		// The viewport repaints itself; frames coalesce into one paint per tick
+		viewport.setViewPosition(new Point((int) Math.round(x), 0));
+		onMove.run();
+	}
+}
\ No newline at end of file
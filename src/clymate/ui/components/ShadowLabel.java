@@ -1,27 +1,58 @@
 package clymate.ui.components;
 
 import javax.swing.JLabel;
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Insets;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.util.Objects;
 
 /**
  * Extension of JLabel that renders a drop shadow behind the text. Critical for
  * readability against dynamic photographic backgrounds.
  *
+ * <p>
+ * The backing, shadow and text are rendered once into a translucent image at
+ * the display's scale factor and then blitted 1:1 on every repaint. The image
+ * is rendered again only when the text, font, size, colors, shadow or scale
+ * change, so an optional blurred shadow ({@link #setShadowBlur(int)}) costs
+ * nothing per frame either.
+ *
  * @author Malith Dissanayake
  */
 public class ShadowLabel extends JLabel {
 
 	private static final long serialVersionUID = 1L;
 
+	private static final AffineTransform IDENTITY = new AffineTransform();
+
 	private Color shadowColor;
 	private Color textColor;
+	private int shadowBlur;
+	private boolean cached = true;
+
+	// Cached rendering and what it was rendered from
+	private transient BufferedImage cache;
+	private String cachedText;
+	private Font cachedFont;
+	private Color cachedFg, cachedBg, cachedShadow;
+	private boolean cachedOpaque;
+	private int cachedW, cachedH, cachedLeft, cachedTop, cachedBlur;
+	private double cachedScale;
 
 	public ShadowLabel(String text, int size, boolean bold) {
 		super(text);
-		setFont(new java.awt.Font("Segoe UI", bold ? java.awt.Font.BOLD : java.awt.Font.PLAIN, size));
+		setFont(new Font("Segoe UI", bold ? Font.BOLD : Font.PLAIN, size));
 		setHorizontalAlignment(CENTER);
 		setTheme(true);
 	}
@@ -43,28 +74,189 @@ public class ShadowLabel extends JLabel {
 		repaint();
 	}
 
+	/**
+	 * Softens the drop shadow with a Gaussian blur. The blur is applied when the
+	 * cached image is rendered, not on each repaint.
+	 *
+	 * @param radius Blur radius in pixels, or 0 for the crisp 1px offset shadow.
+	 */
+	public void setShadowBlur(int radius) {
+		shadowBlur = Math.max(0, radius);
+		repaint();
+	}
+
+	/**
+	 * Turns the image cache off, for labels used as list renderer stamps whose
+	 * text changes with every cell they paint. Uncached labels draw the crisp
+	 * shadow even if a blur is set.
+	 */
+	void setCached(boolean cached) {
+		this.cached = cached;
+		cache = null;
+	}
+
 	@Override
 	protected void paintComponent(Graphics g) {
-		Graphics2D g2 = (Graphics2D) g.create();
-		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-		// 1. Draw Bubble Background if Opaque
-		if (isOpaque()) {
-			g2.setColor(getBackground());
-			g2.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
+		Graphics2D g2 = (Graphics2D) g;
+		AffineTransform t = g2.getTransform();
+		double scale = t.getScaleX();
+		if (!cached || t.getShearX() != 0 || t.getShearY() != 0 || t.getScaleY() != scale || scale <= 0) {
+			// Stamp, or rotated or skewed: draw the text directly
+			Graphics2D d = (Graphics2D) g.create();
+			try {
+				drawContent(d, true);
+			} finally {
+				d.dispose();
+			}
+			return;
 		}
 
-		// 2. Draw Shadow offset by 1px
-		if (shadowColor.getAlpha() > 0) {
-			g2.setColor(shadowColor);
-			g2.drawString(getText(), getInsets().left + 1, getFontMetrics(getFont()).getAscent() + getInsets().top + 1);
+		int w = getWidth(), h = getHeight();
+		Insets in = getInsets();
+		Color bg = isOpaque() ? getBackground() : null;
+		if (cache == null || cachedScale != scale || cachedW != w || cachedH != h || cachedLeft != in.left
+				|| cachedTop != in.top || cachedBlur != shadowBlur || cachedOpaque != isOpaque()
+				|| !Objects.equals(cachedText, getText()) || !Objects.equals(cachedFont, getFont())
+				|| !Objects.equals(cachedFg, getForeground()) || !Objects.equals(cachedBg, bg)
+				|| !Objects.equals(cachedShadow, shadowColor)) {
+			render(g2.getDeviceConfiguration(), scale, w, h);
+			cachedText = getText();
+			cachedFont = getFont();
+			cachedFg = getForeground();
+			cachedBg = bg;
+			cachedShadow = shadowColor;
+			cachedOpaque = isOpaque();
+			cachedW = w;
+			cachedH = h;
+			cachedLeft = in.left;
+			cachedTop = in.top;
+			cachedBlur = shadowBlur;
+			cachedScale = scale;
 		}
 
-		// 3. Draw Foreground Text
-		g2.setColor(getForeground());
-		g2.drawString(getText(), getInsets().left, getFontMetrics(getFont()).getAscent() + getInsets().top);
+		// Blit in device space so the image maps 1:1 onto screen pixels
+		int dx = (int) Math.round(t.getTranslateX());
+		int dy = (int) Math.round(t.getTranslateY());
+		g2.setTransform(IDENTITY);
+		g2.drawImage(cache, dx, dy, null);
+		g2.setTransform(t);
+	}
+
+	private void render(GraphicsConfiguration gc, double scale, int w, int h) {
+		if (!isOpaque()) {
+			// Without a bubble only the text and its shadow need pixels
+			Insets in = getInsets();
+			FontMetrics fm = getFontMetrics(getFont());
+			int pad = 1 + shadowBlur;
+			w = Math.min(w, in.left + fm.stringWidth(getText()) + pad);
+			h = Math.min(h, in.top + fm.getHeight() + pad);
+		}
+		int pw = Math.max(1, (int) Math.ceil(w * scale));
+		int ph = Math.max(1, (int) Math.ceil(h * scale));
+		if (cache == null || cache.getWidth() != pw || cache.getHeight() != ph) {
+			cache = gc != null ? gc.createCompatibleImage(pw, ph, Transparency.TRANSLUCENT)
+					: new BufferedImage(pw, ph, BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+
+		Graphics2D g = cache.createGraphics();
+		try {
+			g.setComposite(AlphaComposite.Clear);
+			g.fillRect(0, 0, pw, ph);
+			g.setComposite(AlphaComposite.SrcOver);
+
+			boolean blur = shadowBlur > 0 && shadowColor.getAlpha() > 0;
+			if (blur && isOpaque()) {
+				// The bubble goes under the shadow
+				g.scale(scale, scale);
+				paintBubble(g);
+				g.setTransform(IDENTITY);
+			}
+			if (blur) {
+				int r = Math.max(1, (int) Math.round(shadowBlur * scale));
+				int offset = Math.max(1, (int) Math.round(scale));
+				g.drawImage(blurredShadow(scale, pw, ph, r), offset - r, offset - r, null);
+			}
+			g.scale(scale, scale);
+			if (!blur && isOpaque())
+				paintBubble(g);
+			drawText(g, !blur);
+		} finally {
+			g.dispose();
+		}
+	}
+
+	/**
+	 * Renders the text in the shadow color onto a canvas padded by {@code r} on
+	 * every side and blurs it.
+	 */
+	private BufferedImage blurredShadow(double scale, int pw, int ph, int r) {
+		BufferedImage layer = new BufferedImage(pw + 2 * r, ph + 2 * r, BufferedImage.TYPE_INT_ARGB_PRE);
+		Graphics2D g = layer.createGraphics();
+		try {
+			g.translate(r, r);
+			g.scale(scale, scale);
+			applyHints(g);
+			g.setFont(getFont());
+			g.setColor(shadowColor);
+			Insets in = getInsets();
+			g.drawString(getText(), in.left, g.getFontMetrics().getAscent() + in.top);
+		} finally {
+			g.dispose();
+		}
+
+		// Separable Gaussian: one horizontal and one vertical pass
+		float[] weights = gaussian(r);
+		BufferedImage pass = new ConvolveOp(new Kernel(weights.length, 1, weights), ConvolveOp.EDGE_NO_OP, null)
+				.filter(layer, null);
+		return new ConvolveOp(new Kernel(1, weights.length, weights), ConvolveOp.EDGE_NO_OP, null).filter(pass,
+				null);
+	}
+
+	private static float[] gaussian(int r) {
+		float[] k = new float[2 * r + 1];
+		double sigma = r / 2.0;
+		float sum = 0;
+		for (int i = -r; i <= r; i++) {
+			k[i + r] = (float) Math.exp(-(i * i) / (2 * sigma * sigma));
+			sum += k[i + r];
+		}
+		for (int i = 0; i < k.length; i++)
+			k[i] /= sum;
+		return k;
+	}
+
+	/** Draws the label straight onto {@code g}, as before caching. */
+	private void drawContent(Graphics2D g, boolean shadow) {
+		if (isOpaque())
+			paintBubble(g);
+		drawText(g, shadow);
+	}
+
+	private void paintBubble(Graphics2D g) {
+		applyHints(g);
+		g.setColor(getBackground());
+		g.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
+	}
+
+	/**
+	 * Draws the text, optionally with the crisp shadow offset by 1px.
+	 */
+	private void drawText(Graphics2D g, boolean shadow) {
+		applyHints(g);
+		g.setFont(getFont());
+		Insets in = getInsets();
+		int y = g.getFontMetrics().getAscent() + in.top;
+
+		if (shadow && shadowColor.getAlpha() > 0) {
+			g.setColor(shadowColor);
+			g.drawString(getText(), in.left + 1, y + 1);
+		}
+		g.setColor(getForeground());
+		g.drawString(getText(), in.left, y);
+	}
 
-		g2.dispose();
+	private static void applyHints(Graphics2D g) {
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package clymate.ui.components;
+
+import clymate.backend.WeatherData;
+
+/**
+ * The unit-dependent strings of one forecast (temperatures, wind speeds and
+ * the "warmer than yesterday" tip), formatted for both the metric and the
+ * imperial system. Each system is formatted in full the first time it is
+ * asked for and then kept until the forecast is replaced, so switching units
+ * only swaps label text.
+ *
+ * <p>
+ * Must be used from the Event Dispatch Thread.
+ *
+ * @author Malith Dissanayake
+ */
+final class UnitText {
+
+	/**
+	 * All strings for one unit system. Hourly and daily arrays are indexed like
+	 * the {@link WeatherData} columns.
+	 */
+	static final class Units {
+		final String mainTemp;
+		final String mainUnit;
+		final String currentTemp;
+		final String wind;
+		final String diffTip;
+		final String[] hourlyTemp;
+		final String[] dailyTemp;
+		final String[] dailyWind;
+
+		private Units(WeatherData d, boolean celsius) {
+			double c = d.getCurrentTemp();
+			mainTemp = String.valueOf(Math.round(celsius ? c : (c * 1.8 + 32)));
+			mainUnit = celsius ? "C°" : "F°";
+			currentTemp = formatTemp(c, celsius);
+			wind = formatSpeed(d.getWindSpeed(), celsius);
+
+			double diff = c - d.getYesterdayTemp();
+			diffTip = Math.abs(diff) < 1 ? "Similar temperature to yesterday."
+					: (Math.round(celsius ? diff : (diff * 1.8)) + "°" + (diff > 0 ? " Warmer" : " Cooler")
+							+ " than yesterday.");
+
+			hourlyTemp = new String[d.getHourlyCount()];
+			for (int i = 0; i < hourlyTemp.length; i++)
+				hourlyTemp[i] = formatTemp(d.getHourlyTemp(i), celsius);
+
+			dailyTemp = new String[d.getDailyCount()];
+			dailyWind = new String[dailyTemp.length];
+			for (int i = 0; i < dailyTemp.length; i++) {
+				dailyTemp[i] = formatTemp(d.getDailyMax(i), celsius) + " / " + formatTemp(d.getDailyMin(i), celsius);
+				dailyWind[i] = formatSpeed(d.getDailyWind(i), celsius);
+			}
+		}
+	}
+
+	private final WeatherData data;
+	private Units metric;
+	private Units imperial;
+
+	UnitText(WeatherData data) {
+		this.data = data;
+	}
+
+	/** @return The forecast these strings were formatted from. */
+	WeatherData getData() {
+		return data;
+	}
+
+	/**
+	 * @param celsius true for metric (°C, km/h), false for imperial (°F, mph).
+	 */
+	Units get(boolean celsius) {
+		if (celsius)
+			return metric != null ? metric : (metric = new Units(data, true));
+		return imperial != null ? imperial : (imperial = new Units(data, false));
+	}
+
+	/** Formats a Celsius temperature for inline display (e.g. "21°"). */
+	static String formatTemp(double c, boolean celsius) {
+		return Math.round(celsius ? c : (c * 1.8 + 32)) + "°";
+	}
+
+	/** Formats a km/h speed (e.g. "12 km/h" or "7.5 mph"). */
+	static String formatSpeed(double k, boolean celsius) {
+		return celsius ? Math.round(k) + " km/h" : String.format("%.1f mph", k / 1.609);
+	}
+}
\ No newline at end of file